@@ -1,52 +1,77 @@
-plugins {
-    java
-    alias(libs.plugins.spring.boot)
-    alias(libs.plugins.spring.dependency.management)
-    id("jacoco")
-}
-
-configurations {
-    compileOnly {
-        extendsFrom(configurations.annotationProcessor.get())
-    }
-}
-
-allprojects {
-    group = property("app.group").toString()
-}
-
-dependencyManagement {
-    imports {
-        mavenBom(libs.spring.cloud.dependencies.get().toString())
-    }
-}
-
-dependencies {
-    implementation(libs.spring.boot.starter.web)
-    compileOnly(libs.lombok)
-    annotationProcessor(libs.lombok)
-    annotationProcessor(libs.spring.boot.configuration.processor)
-    testImplementation(libs.spring.boot.starter.test)
-}
-
-// about source and compilation
-java {
-    sourceCompatibility = JavaVersion.VERSION_17
-}
-
-with(extensions.getByType(JacocoPluginExtension::class.java)) {
-    toolVersion = "0.8.7"
-}
-
-// bundling tasks
-tasks.getByName("bootJar") {
-    enabled = true
-}
-tasks.getByName("jar") {
-    enabled = false
-}
-// test tasks
-tasks.test {
-    ignoreFailures = true
-    useJUnitPlatform()
-}
+plugins {
+    java
+    alias(libs.plugins.spring.boot)
+    alias(libs.plugins.spring.dependency.management)
+    id("jacoco")
+    alias(libs.plugins.jmh)
+}
+
+configurations {
+    compileOnly {
+        extendsFrom(configurations.annotationProcessor.get())
+    }
+}
+
+allprojects {
+    group = property("app.group").toString()
+}
+
+dependencyManagement {
+    imports {
+        mavenBom(libs.spring.cloud.dependencies.get().toString())
+    }
+}
+
+dependencies {
+    implementation(libs.spring.boot.starter.web)
+    // spring.main.web-application-type=reactive 이면 ReactivePointController 로 동작한다
+    // 기본 빌드는 WebFlux 를 컴파일/테스트에만 쓰고, -Ppoint.reactive=true 로 빌드할 때만 실행 클래스패스(bootJar, bootRun)에 넣는다
+    if (property("point.reactive").toString().toBoolean()) {
+        implementation(libs.spring.boot.starter.webflux)
+    } else {
+        compileOnly(libs.spring.boot.starter.webflux)
+    }
+    implementation(libs.spring.boot.starter.actuator)
+    runtimeOnly(libs.micrometer.registry.prometheus)
+    compileOnly(libs.lombok)
+    annotationProcessor(libs.lombok)
+    annotationProcessor(libs.spring.boot.configuration.processor)
+    testImplementation(libs.spring.boot.starter.test)
+    testImplementation(libs.spring.boot.starter.webflux)
+}
+
+// about source and compilation
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
+with(extensions.getByType(JacocoPluginExtension::class.java)) {
+    toolVersion = "0.8.11"
+}
+
+// bundling tasks
+tasks.getByName("bootJar") {
+    enabled = true
+}
+tasks.getByName("jar") {
+    enabled = false
+}
+// benchmark tasks (./gradlew jmh)
+jmh {
+    jmhVersion = libs.versions.jmh.get()
+    fork = 1
+    warmupIterations = 2
+    iterations = 3
+    jvmArgs = listOf("-Xmx4g")
+    resultFormat = "JSON"
+}
+
+// test tasks
+tasks.test {
+    ignoreFailures = true
+    useJUnitPlatform()
+    // 가상 스레드가 carrier 스레드에 고정(pinning)되면 로그로 남긴다
+    jvmArgs("-Djdk.tracePinnedThreads=short")
+}
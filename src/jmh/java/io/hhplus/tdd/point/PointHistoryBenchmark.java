@@ -0,0 +1,87 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.ColumnarPointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepositoryImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전체 저장된 내역 수에 따른 한 유저의 내역 조회 시간
+ * 조회 대상 유저의 내역은 100 건으로 고정하고 나머지 유저의 내역만 늘린다.
+ * - indexed : 유저별 세그먼트 (PointHistoryRepositoryImpl)
+ * - scan : 전체 목록을 필터링하는 기존 PointHistoryTable 방식
+ * - columnar : 컬럼별 off-heap 버퍼 (ColumnarPointHistoryRepository), 조회한 row 만 PointHistory 로 만든다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointHistoryBenchmark {
+
+    private static final long TARGET_USER = 0L;
+    private static final int TARGET_ROWS = 100;
+    private static final int OTHER_USERS = 10_000;
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int totalRows;
+
+    private PointHistoryRepositoryImpl pointHistoryRepository;
+    private ColumnarPointHistoryRepository columnarRepository;
+    private List<PointHistory> table;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        PointHistoryTable pointHistoryTable = UnthrottledTables.pointHistoryTable(false);
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        pointHistoryRepository = new PointHistoryRepositoryImpl(pointHistoryTable, pointMetrics);
+        columnarRepository = new ColumnarPointHistoryRepository(pointMetrics, 65_536);
+        table = new ArrayList<>(totalRows);
+
+        // 조회 대상 유저의 내역을 전체 기간에 고르게 섞는다
+        int interval = totalRows / TARGET_ROWS;
+        for (int i = 0; i < totalRows; i++) {
+            long userId = i % interval == 0 ? TARGET_USER : 1 + (i % OTHER_USERS);
+            table.add(pointHistoryRepository.insert(userId, 1L, TransactionType.CHARGE, i));
+            columnarRepository.insert(userId, 1L, TransactionType.CHARGE, i);
+        }
+    }
+
+    @Benchmark
+    public List<PointHistory> indexed() {
+        return pointHistoryRepository.selectAllByUserId(TARGET_USER);
+    }
+
+    @Benchmark
+    public List<PointHistory> indexedPage() {
+        return pointHistoryRepository.selectByUserIdAfter(TARGET_USER, 0L, 20);
+    }
+
+    @Benchmark
+    public long columnarPage() {
+        // 꺼낸 row 만 만들어지므로 실제로 읽는 비용까지 잰다
+        long sum = 0L;
+        for (PointHistory pointHistory : columnarRepository.selectByUserIdAfter(TARGET_USER, 0L, 20)) {
+            sum += pointHistory.amount();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long columnar() {
+        long sum = 0L;
+        for (PointHistory pointHistory : columnarRepository.selectAllByUserId(TARGET_USER)) {
+            sum += pointHistory.amount();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public List<PointHistory> scan() {
+        return table.stream().filter(pointHistory -> pointHistory.userId() == TARGET_USER).toList();
+    }
+}
@@ -0,0 +1,115 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.lock.RefCountedUserLockRegistry;
+import io.hhplus.tdd.point.lock.StripedUserLockRegistry;
+import io.hhplus.tdd.point.lock.UserLockRegistry;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.AsyncPointHistoryRepository;
+import io.hhplus.tdd.point.repository.AsyncUserPointRepository;
+import io.hhplus.tdd.point.repository.ExecutorAsyncPointHistoryRepository;
+import io.hhplus.tdd.point.repository.ExecutorAsyncUserPointRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepositoryImpl;
+import io.hhplus.tdd.point.repository.PointHistoryWriter;
+import io.hhplus.tdd.point.repository.RepositoryExecutor;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.repository.UserPointRepositoryImpl;
+import io.hhplus.tdd.point.repository.WriteBehindUserPointRepository;
+import io.hhplus.tdd.point.service.CasPointService;
+import io.hhplus.tdd.point.service.CombiningPointService;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.service.ShardedPointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 충전/사용 처리량
+ * - mode : 동시성 제어 방식 (lock, cas, shard, combine)
+ * - users : hot (한 유저에 집중), uniform (10,000 명에게 고르게 분산)
+ * - throttled : 테이블의 랜덤 sleep 포함 여부
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PointServiceBenchmark {
+
+    private static final int UNIFORM_USERS = 10_000;
+
+    @Param({"lock", "cas", "shard", "combine"})
+    public String mode;
+
+    @Param({"hot", "uniform"})
+    public String users;
+
+    @Param({"ref-counted", "striped"})
+    public String lockRegistry;
+
+    @Param({"false"})
+    public boolean throttled;
+
+    private PointService pointService;
+    private PointHistoryWriter pointHistoryWriter;
+    private RepositoryExecutor repositoryExecutor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        UserPointRepository userPointRepository = new WriteBehindUserPointRepository(
+                new UserPointRepositoryImpl(UnthrottledTables.userPointTable(throttled), pointMetrics), 100_000, 100L, 1_000_000);
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepositoryImpl(
+                UnthrottledTables.pointHistoryTable(throttled), pointMetrics);
+        pointHistoryWriter = new PointHistoryWriter(
+                pointHistoryRepository, PointHistoryWriter.Durability.ACK_AFTER_ENQUEUE, 4, 1_000_000, 1_000);
+        repositoryExecutor = new RepositoryExecutor(64, 10_000);
+        AsyncUserPointRepository asyncUserPointRepository = new ExecutorAsyncUserPointRepository(userPointRepository, repositoryExecutor);
+        AsyncPointHistoryRepository asyncPointHistoryRepository = new ExecutorAsyncPointHistoryRepository(pointHistoryRepository, repositoryExecutor);
+        UserLockRegistry userLockRegistry = lockRegistry.equals("striped")
+                ? new StripedUserLockRegistry(1024, 60_000L)
+                : new RefCountedUserLockRegistry(60_000L);
+
+        pointService = switch (mode) {
+            case "cas" -> new CasPointService(userPointRepository, pointHistoryRepository, asyncUserPointRepository,
+                    asyncPointHistoryRepository, pointHistoryWriter, userLockRegistry, pointMetrics, 100L);
+            case "combine" -> new CombiningPointService(userPointRepository, pointHistoryRepository, asyncUserPointRepository,
+                    asyncPointHistoryRepository, pointHistoryWriter, userLockRegistry, pointMetrics, 256);
+            case "shard" -> new ShardedPointService(userPointRepository, pointHistoryRepository, asyncUserPointRepository,
+                    asyncPointHistoryRepository, pointHistoryWriter, userLockRegistry, pointMetrics, 0);
+            default -> new PointService(userPointRepository, pointHistoryRepository, asyncUserPointRepository,
+                    asyncPointHistoryRepository, pointHistoryWriter, userLockRegistry, pointMetrics);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        pointService.shutdown();
+        pointHistoryWriter.shutdown();
+        repositoryExecutor.shutdown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UserPoint chargeAndUse_1thread() {
+        return chargeAndUse();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint chargeAndUse_8threads() {
+        return chargeAndUse();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public UserPoint chargeAndUse_64threads() {
+        return chargeAndUse();
+    }
+
+    private UserPoint chargeAndUse() {
+        long userId = users.equals("hot") ? 1L : ThreadLocalRandom.current().nextLong(UNIFORM_USERS);
+        pointService.chargePoint(userId, 1L);
+        return pointService.usePoint(userId, 1L);
+    }
+}
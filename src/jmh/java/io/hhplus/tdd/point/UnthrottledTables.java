@@ -0,0 +1,51 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 벤치마크용 테이블
+ * throttled 가 false 이면 Math.random() 기반 sleep 없이 메모리에서 바로 처리해서 우리 코드의 비용만 측정한다.
+ */
+final class UnthrottledTables {
+
+    private UnthrottledTables() {
+    }
+
+    static UserPointTable userPointTable(boolean throttled) {
+        return throttled ? new UserPointTable() : new UnthrottledUserPointTable();
+    }
+
+    static PointHistoryTable pointHistoryTable(boolean throttled) {
+        return throttled ? new PointHistoryTable() : new UnthrottledPointHistoryTable();
+    }
+
+    private static final class UnthrottledUserPointTable extends UserPointTable {
+        private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+
+    private static final class UnthrottledPointHistoryTable extends PointHistoryTable {
+        private final AtomicLong cursor = new AtomicLong(1);
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            return new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+        }
+    }
+}
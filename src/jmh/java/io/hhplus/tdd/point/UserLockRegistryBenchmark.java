@@ -0,0 +1,54 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.lock.RefCountedUserLockRegistry;
+import io.hhplus.tdd.point.lock.StripedUserLockRegistry;
+import io.hhplus.tdd.point.lock.UserLockRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 락 저장소 자체의 오버헤드 (빈 임계 구역)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserLockRegistryBenchmark {
+
+    @Param({"ref-counted", "striped"})
+    public String lockRegistry;
+
+    @Param({"hot", "uniform"})
+    public String users;
+
+    private UserLockRegistry registry;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        registry = lockRegistry.equals("striped") ? new StripedUserLockRegistry(1024, 60_000L) : new RefCountedUserLockRegistry(60_000L);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object withLock_1thread() {
+        return withLock();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object withLock_8threads() {
+        return withLock();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Object withLock_64threads() {
+        return withLock();
+    }
+
+    private Object withLock() {
+        long userId = users.equals("hot") ? 1L : ThreadLocalRandom.current().nextLong(10_000_000L);
+        return registry.withLock(userId, () -> userId);
+    }
+}
@@ -0,0 +1,45 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.exception.NotOwnerException;
+import io.hhplus.tdd.point.exception.TooManyRequestsException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * 예외를 응답 상태와 ErrorResponse 로 바꾼다. (ApiControllerAdvice, ReactiveApiControllerAdvice 가 함께 사용)
+ * - TooManyRequestsException : 429
+ * - NotOwnerException : 503
+ * - 그 외 : 500 (메시지는 감춘다)
+ */
+final class ErrorResponses {
+
+    private ErrorResponses() {
+    }
+
+    static ResponseEntity<ErrorResponse> of(Exception e) {
+        Throwable cause = unwrap(e);
+        HttpStatus status = statusOf(cause);
+        String message = status == HttpStatus.INTERNAL_SERVER_ERROR ? "에러가 발생했습니다." : cause.getMessage();
+        return ResponseEntity.status(status).body(new ErrorResponse(String.valueOf(status.value()), message));
+    }
+
+    static HttpStatus statusOf(Throwable e) {
+        if (e instanceof TooManyRequestsException) {
+            return HttpStatus.TOO_MANY_REQUESTS;
+        }
+        if (e instanceof NotOwnerException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    // 비동기 응답의 예외는 CompletionException 에 감싸져 올 수 있다
+    private static Throwable unwrap(Throwable e) {
+        while (e instanceof CompletionException && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+}
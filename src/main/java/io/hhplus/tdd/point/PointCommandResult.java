@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 처리 요청 한 건의 결과
+ * - 성공하면 point 에 처리 직후 잔고가, 실패하면 message 에 실패 사유가 담긴다.
+ */
+public record PointCommandResult(
+        long userId,
+        TransactionType type,
+        long amount,
+        boolean success,
+        Long point,
+        String message
+) {
+
+    public static PointCommandResult success(PointCommand command, long point) {
+        return new PointCommandResult(command.userId(), command.type(), command.amount(), true, point, null);
+    }
+
+    public static PointCommandResult failure(PointCommand command, String message) {
+        return new PointCommandResult(command.userId(), command.type(), command.amount(), false, null, message);
+    }
+}
@@ -1,63 +1,214 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.hhplus.tdd.point.cluster.PointRouter;
 import io.hhplus.tdd.point.service.PointService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/point")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
 
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     @Autowired
     private PointService pointService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // 라우팅, Idempotency-Key, 요청 제한은 ReactivePointController 와 함께 쓴다
+    @Autowired
+    private PointRequestHandler pointRequestHandler;
+
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
+     * If-None-Match 가 현재 ETag 와 같으면 본문 없이 304 를 응답한다.
+     * 클러스터 모드에서는 담당 노드의 잔고를 응답한다.
      */
     @GetMapping("{id}")
-    public UserPoint point(
-            @PathVariable long id
+    public ResponseEntity<UserPoint> point(
+            @PathVariable long id,
+            @RequestHeader(value = PointRouter.FORWARDED_HEADER, required = false) String forwardedBy,
+            WebRequest request
     ) {
-        return pointService.getPoint(id);
+        UserPoint userPoint = pointRequestHandler.point(id, forwardedBy);
+        String eTag = PointService.eTagOf(userPoint);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(userPoint);
     }
 
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
+     * - after : 이 id 이후의 내역부터 조회 (커서)
+     * - from, to : updateMillis 범위
+     * - limit : 한 번에 조회할 개수
+     * 파라미터가 없으면 전체 내역을 조회한다.
+     * 조회는 저장소 실행기에서 처리하고 요청 스레드는 기다리지 않는다.
+     * 클러스터 모드에서는 담당 노드의 내역을 응답한다.
      */
     @GetMapping("{id}/histories")
-    public List<PointHistory> history(
+    public CompletableFuture<List<PointHistory>> history(
+            @PathVariable long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = PointRouter.FORWARDED_HEADER, required = false) String forwardedBy
+    ) {
+        return pointRequestHandler.histories(id, after, from, to, limit, forwardedBy);
+    }
+
+    /**
+     * 특정 유저의 포인트 내역 요약 (거래 종류별 합계, 건수, 처음/마지막 거래 시각, 날짜별 합계)
+     * 내역이 저장될 때마다 갱신해 둔 집계를 읽으므로 내역 수와 관계없이 비용이 일정하다.
+     * 클러스터 모드에서는 담당 노드의 요약을 응답한다.
+     */
+    @GetMapping("{id}/summary")
+    public PointSummary summary(
+            @PathVariable long id,
+            @RequestHeader(value = PointRouter.FORWARDED_HEADER, required = false) String forwardedBy
+    ) {
+        return pointRequestHandler.summary(id, forwardedBy);
+    }
+
+    /**
+     * 특정 유저의 포인트 내역 전체를 NDJSON 으로 스트리밍한다.
+     * 페이지 단위로 읽어서 바로 내보내므로 내역 크기와 관계없이 메모리 사용량이 일정하다.
+     */
+    @GetMapping(value = "{id}/histories/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> historyStream(
             @PathVariable long id
     ) {
+        return ndjson(List.of(id));
+    }
 
+    /**
+     * 여러 유저의 포인트 내역을 유저 순서대로 이어서 NDJSON 으로 스트리밍한다.
+     */
+    @GetMapping(value = "histories/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> historiesStream(
+            @RequestParam List<Long> ids
+    ) {
+        return ndjson(ids);
+    }
+
+    // 클러스터 모드에서는 모든 유저를 이 노드가 담당할 때만 스트리밍한다
+    private ResponseEntity<StreamingResponseBody> ndjson(List<Long> userIds) {
+        pointRequestHandler.requireOwned(userIds);
+        ObjectWriter writer = objectMapper.writerFor(PointHistory.class);
+        StreamingResponseBody body = outputStream -> {
+            for (long userId : userIds) {
+                writeHistories(userId, writer, outputStream);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 
-        return pointService.getHistory(id);
+    private void writeHistories(long userId, ObjectWriter writer, OutputStream outputStream) throws IOException {
+        long afterId = 0L;
+        List<PointHistory> page;
+        do {
+            page = pointService.getHistory(userId, afterId, PointService.MAX_PAGE_SIZE);
+            for (PointHistory pointHistory : page) {
+                outputStream.write(writer.writeValueAsBytes(pointHistory));
+                outputStream.write('\n');
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == PointService.MAX_PAGE_SIZE);
+        outputStream.flush();
     }
 
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * Idempotency-Key 가 있으면 같은 키의 재시도는 처음 결과를 그대로 응답한다.
+     * 유저별 요청 속도나 전체 동시 처리 수가 한도를 넘으면 429 를 응답한다.
+     * 클러스터 모드에서 다른 노드가 담당하는 유저면 담당 노드로 넘긴다.
      */
     @PatchMapping("{id}/charge")
-    public UserPoint charge(
+    public CompletableFuture<UserPoint> charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestHeader(value = PointRouter.FORWARDED_HEADER, required = false) String forwardedBy
     ) {
-        return pointService.chargePoint(id, amount);
+        return pointRequestHandler.charge(id, amount, idempotencyKey, forwardedBy);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * Idempotency-Key 가 있으면 같은 키의 재시도는 처음 결과를 그대로 응답한다.
+     * 유저별 요청 속도나 전체 동시 처리 수가 한도를 넘으면 429 를 응답한다.
+     * 클러스터 모드에서 다른 노드가 담당하는 유저면 담당 노드로 넘긴다.
      */
     @PatchMapping("{id}/use")
-    public UserPoint use(
+    public CompletableFuture<UserPoint> use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestHeader(value = PointRouter.FORWARDED_HEADER, required = false) String forwardedBy
+    ) {
+        return pointRequestHandler.use(id, amount, idempotencyKey, forwardedBy);
+    }
+
+    /**
+     * 한 유저의 포인트를 다른 유저에게 이체한다.
+     * 두 유저의 잔고와 내역이 함께 반영되며, 어느 한쪽이라도 검증에 실패하면 아무것도 바뀌지 않는다.
+     * 클러스터 모드에서는 보내는 유저의 담당 노드가 처리하고, 받는 유저도 그 노드가 담당해야 한다.
+     */
+    @PostMapping("transfer")
+    public CompletableFuture<PointTransferResult> transfer(
+            @RequestBody PointTransfer transfer,
+            @RequestHeader(value = PointRouter.FORWARDED_HEADER, required = false) String forwardedBy
+    ) {
+        return pointRequestHandler.transfer(transfer, forwardedBy);
+    }
+
+    /**
+     * 여러 유저의 잔고를 한 번에 조회한다. 중복된 id 는 한 번만 응답한다.
+     * 클러스터 모드에서는 담당 노드별로 나누어 각 노드의 잔고를 응답한다.
+     */
+    @PostMapping("balances")
+    public List<UserPoint> balances(
+            @RequestBody List<Long> ids,
+            @RequestHeader(value = PointRouter.FORWARDED_HEADER, required = false) String forwardedBy
+    ) {
+        return pointRequestHandler.balances(ids, forwardedBy);
+    }
+
+    /**
+     * 여러 유저의 포인트 충전/사용을 한 번에 처리한다.
+     * 요청 순서대로 건별 결과를 반환하며, 일부 건이 실패해도 나머지는 처리된다.
+     * 건마다 그 유저의 요청 속도 한도를 차지하고, 한도를 넘으면 전체를 429 로 거절한다.
+     * 클러스터 모드에서는 모든 유저를 이 노드가 담당할 때만 처리한다.
+     */
+    @PostMapping("batch")
+    public CompletableFuture<List<PointCommandResult>> batch(
+            @RequestBody List<PointCommand> commands
     ) {
-        return pointService.usePoint(id, amount);
+        return pointRequestHandler.batch(commands);
     }
 }
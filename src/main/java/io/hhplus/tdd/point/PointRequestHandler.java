@@ -0,0 +1,158 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.admission.AdmissionControl;
+import io.hhplus.tdd.point.cluster.PointRouter;
+import io.hhplus.tdd.point.idempotency.IdempotencyCache;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * PointController(servlet) 와 ReactivePointController(WebFlux) 가 함께 쓰는 요청 처리
+ * - 클러스터 모드의 담당 노드 라우팅
+ * - Idempotency-Key 재시도 처리
+ * - 요청 속도/동시 처리 수 제한 (429)
+ * - 내역 조회 파라미터(after, from, to, limit)의 기본값
+ * 컨트롤러는 응답 형식(ETag, 스트리밍, Mono/Flux)과 실행할 스레드만 정한다.
+ */
+@Component
+public class PointRequestHandler {
+
+    private final PointService pointService;
+    private final IdempotencyCache idempotencyCache;
+    private final AdmissionControl admissionControl;
+    private final PointSummaryAggregator pointSummaryAggregator;
+    // point.cluster.enabled=true 일 때만 있다
+    private final PointRouter pointRouter;
+
+    public PointRequestHandler(
+            PointService pointService,
+            IdempotencyCache idempotencyCache,
+            AdmissionControl admissionControl,
+            PointSummaryAggregator pointSummaryAggregator,
+            Optional<PointRouter> pointRouter
+    ) {
+        this.pointService = pointService;
+        this.idempotencyCache = idempotencyCache;
+        this.admissionControl = admissionControl;
+        this.pointSummaryAggregator = pointSummaryAggregator;
+        this.pointRouter = pointRouter.orElse(null);
+    }
+
+    /**
+     * 잔고 조회. 클러스터 모드에서는 담당 노드의 잔고를 응답한다.
+     */
+    public UserPoint point(long id, String forwardedBy) {
+        return routed(id, forwardedBy) ? pointRouter.getPoint(id) : pointService.getPoint(id);
+    }
+
+    /**
+     * 내역 조회
+     * - after : 이 id 이후의 내역부터 조회 (커서)
+     * - from, to : updateMillis 범위
+     * - limit : 한 번에 조회할 개수
+     * 파라미터가 없으면 전체 내역을 조회한다.
+     */
+    public CompletableFuture<List<PointHistory>> histories(long id, Long after, Long from, Long to, Integer limit, String forwardedBy) {
+        if (routed(id, forwardedBy)) {
+            return pointRouter.getHistories(id, after, from, to, limit);
+        }
+        if (after == null && from == null && to == null && limit == null) {
+            return pointService.getHistoryAsync(id);
+        }
+
+        long afterId = after != null ? after : 0L;
+        int pageSize = limit != null ? limit : PointService.DEFAULT_PAGE_SIZE;
+        if (from == null && to == null) {
+            return pointService.getHistoryAsync(id, afterId, pageSize);
+        }
+        return pointService.getHistoryAsync(
+                id,
+                from != null ? from : Long.MIN_VALUE,
+                to != null ? to : Long.MAX_VALUE,
+                afterId,
+                pageSize
+        );
+    }
+
+    /**
+     * 내역 요약. 클러스터 모드에서는 담당 노드의 요약을 응답한다.
+     */
+    public PointSummary summary(long id, String forwardedBy) {
+        return routed(id, forwardedBy) ? pointRouter.getSummary(id) : pointSummaryAggregator.summary(id);
+    }
+
+    public CompletableFuture<UserPoint> charge(long id, long amount, String idempotencyKey, String forwardedBy) {
+        if (routed(id, forwardedBy)) {
+            return pointRouter.charge(id, amount, idempotencyKey);
+        }
+        return idempotent(id, TransactionType.CHARGE, amount, idempotencyKey,
+                () -> admissionControl.admit(id, () -> pointService.chargePointAsync(id, amount)));
+    }
+
+    public CompletableFuture<UserPoint> use(long id, long amount, String idempotencyKey, String forwardedBy) {
+        if (routed(id, forwardedBy)) {
+            return pointRouter.use(id, amount, idempotencyKey);
+        }
+        return idempotent(id, TransactionType.USE, amount, idempotencyKey,
+                () -> admissionControl.admit(id, () -> pointService.usePointAsync(id, amount)));
+    }
+
+    /**
+     * 이체. 클러스터 모드에서는 보내는 유저의 담당 노드가 처리하고, 받는 유저도 그 노드가 담당해야 한다.
+     */
+    public CompletableFuture<PointTransferResult> transfer(PointTransfer transfer, String forwardedBy) {
+        if (routed(transfer.fromUserId(), forwardedBy)) {
+            return pointRouter.transfer(transfer);
+        }
+        requireOwned(List.of(transfer.toUserId()));
+        return admissionControl.admit(transfer.fromUserId(),
+                () -> pointService.transferAsync(transfer.fromUserId(), transfer.toUserId(), transfer.amount()));
+    }
+
+    /**
+     * 여러 유저의 잔고 조회. 클러스터 모드에서는 담당 노드별로 나누어 각 노드의 잔고를 응답한다.
+     */
+    public List<UserPoint> balances(List<Long> ids, String forwardedBy) {
+        if (pointRouter != null) {
+            return pointRouter.getPoints(ids, forwardedBy, pointService::getPoints);
+        }
+        return pointService.getPoints(ids);
+    }
+
+    /**
+     * 여러 유저의 충전/사용. 클러스터 모드에서는 모든 유저를 이 노드가 담당할 때만 처리한다.
+     */
+    public CompletableFuture<List<PointCommandResult>> batch(List<PointCommand> commands) {
+        List<Long> userIds = commands.stream().map(PointCommand::userId).toList();
+        requireOwned(userIds);
+        return admissionControl.admitAll(userIds, () -> pointService.executeAsync(commands));
+    }
+
+    /**
+     * 클러스터 모드에서 이 노드가 담당하지 않는 유저가 있으면 거절한다. (내역 스트리밍 등 넘기지 않는 요청)
+     */
+    public void requireOwned(Collection<Long> userIds) {
+        if (pointRouter != null) {
+            pointRouter.requireOwned(userIds);
+        }
+    }
+
+    private boolean routed(long id, String forwardedBy) {
+        return pointRouter != null && !pointRouter.isLocal(id, forwardedBy);
+    }
+
+    private CompletableFuture<UserPoint> idempotent(long id, TransactionType type, long amount, String idempotencyKey,
+                                                    Supplier<CompletableFuture<UserPoint>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        return idempotencyCache.execute(id, type, amount, idempotencyKey, action);
+    }
+}
@@ -0,0 +1,34 @@
+package io.hhplus.tdd.point;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 유저의 포인트 내역 요약
+ * - count : 전체 거래 수
+ * - firstMillis, lastMillis : 가장 이른/늦은 거래 시각 (거래가 없으면 0)
+ * - totals : 거래 종류별 건수와 금액 합계
+ * - daily : 날짜별 거래 종류별 합계 (오래된 날짜부터)
+ */
+public record PointSummary(
+        long userId,
+        long count,
+        long firstMillis,
+        long lastMillis,
+        Map<TransactionType, Totals> totals,
+        List<Daily> daily
+) {
+
+    public record Totals(
+            long count,
+            long amount
+    ) {
+    }
+
+    public record Daily(
+            LocalDate date,
+            Map<TransactionType, Totals> totals
+    ) {
+    }
+}
@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 결과 (이체 직후 두 유저의 잔고)
+ */
+public record PointTransferResult(
+        UserPoint from,
+        UserPoint to
+) {
+}
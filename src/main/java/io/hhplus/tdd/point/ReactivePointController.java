@@ -0,0 +1,206 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.cluster.PointRouter;
+import io.hhplus.tdd.point.service.PointService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * PointController 와 같은 /point 경로를 WebFlux 로 제공한다. (spring.main.web-application-type=reactive 일 때만 등록)
+ * - 유저 락을 잡거나 테이블을 직접 호출하는 작업은 크기가 정해진 scheduler 에서 실행하고, event loop 스레드는 막지 않는다.
+ * - 내역 조회는 비동기 저장소를 그대로 사용한다.
+ * - 내역 스트리밍은 받는 쪽이 요청한 만큼만 다음 페이지를 읽는다.
+ * 클러스터 모드의 담당 노드 라우팅, Idempotency-Key, 요청 제한은 PointController 와 함께 PointRequestHandler 를 쓴다.
+ */
+@RestController
+@RequestMapping("/point")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePointController {
+
+    private final PointService pointService;
+    private final PointRequestHandler pointRequestHandler;
+    private final Scheduler scheduler;
+
+    public ReactivePointController(
+            PointService pointService,
+            PointRequestHandler pointRequestHandler,
+            @Value("${point.reactive.scheduler.threads:64}") int threads,
+            @Value("${point.reactive.scheduler.queued-tasks:100000}") int queuedTasks
+    ) {
+        this.pointService = pointService;
+        this.pointRequestHandler = pointRequestHandler;
+        this.scheduler = Schedulers.newBoundedElastic(threads, queuedTasks, "point-reactive");
+    }
+
+    /**
+     * 특정 유저의 포인트 조회
+     * If-None-Match 가 현재 ETag 와 같으면 본문 없이 304 를 응답한다.
+     */
+    @GetMapping("{id}")
+    public Mono<ResponseEntity<UserPoint>> point(
+            @PathVariable long id,
+            @RequestHeader(value = PointRouter.FORWARDED_HEADER, required = false) String forwardedBy,
+            ServerWebExchange exchange
+    ) {
+        return offload(() -> pointRequestHandler.point(id, forwardedBy))
+                .flatMap(userPoint -> {
+                    String eTag = PointService.eTagOf(userPoint);
+                    if (exchange.checkNotModified(eTag)) {
+                        return Mono.empty();
+                    }
+                    return Mono.just(ResponseEntity.ok().eTag(eTag).body(userPoint));
+                });
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역 조회 (파라미터는 PointController 와 같다)
+     */
+    @GetMapping("{id}/histories")
+    public Flux<PointHistory> history(
+            @PathVariable long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = PointRouter.FORWARDED_HEADER, required = false) String forwardedBy
+    ) {
+        return Mono.fromFuture(() -> pointRequestHandler.histories(id, after, from, to, limit, forwardedBy))
+                .flatMapIterable(Function.identity());
+    }
+
+    /**
+     * 특정 유저의 포인트 내역 요약
+     * 시작 직후에는 WAL 재생이 끝날 때까지 기다릴 수 있으므로 event loop 가 아닌 스레드에서 읽는다.
+     */
+    @GetMapping("{id}/summary")
+    public Mono<PointSummary> summary(
+            @PathVariable long id,
+            @RequestHeader(value = PointRouter.FORWARDED_HEADER, required = false) String forwardedBy
+    ) {
+        return offload(() -> pointRequestHandler.summary(id, forwardedBy));
+    }
+
+    /**
+     * 특정 유저의 포인트 내역 전체를 NDJSON 으로 스트리밍한다.
+     */
+    @GetMapping(value = "{id}/histories/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PointHistory> historyStream(
+            @PathVariable long id
+    ) {
+        return historiesStream(List.of(id));
+    }
+
+    /**
+     * 여러 유저의 포인트 내역을 유저 순서대로 이어서 NDJSON 으로 스트리밍한다.
+     */
+    @GetMapping(value = "histories/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PointHistory> historiesStream(
+            @RequestParam List<Long> ids
+    ) {
+        pointRequestHandler.requireOwned(ids);
+        return Flux.fromIterable(ids).concatMap(this::histories);
+    }
+
+    // 앞 페이지를 다 내보내고 더 요청이 와야 다음 페이지를 읽으므로 한 번에 한 페이지만 들고 있다
+    private Flux<PointHistory> histories(long userId) {
+        return page(userId, 0L)
+                .expand(page -> page.size() == PointService.MAX_PAGE_SIZE
+                        ? page(userId, page.get(page.size() - 1).id())
+                        : Mono.empty())
+                .concatMapIterable(Function.identity(), 1);
+    }
+
+    private Mono<List<PointHistory>> page(long userId, long afterId) {
+        return Mono.fromFuture(() -> pointService.getHistoryAsync(userId, afterId, PointService.MAX_PAGE_SIZE));
+    }
+
+    /**
+     * 특정 유저의 포인트 충전
+     * Idempotency-Key 와 429 응답은 PointController 와 같다.
+     */
+    @PatchMapping("{id}/charge")
+    public Mono<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = PointController.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestHeader(value = PointRouter.FORWARDED_HEADER, required = false) String forwardedBy
+    ) {
+        return offloadFuture(() -> pointRequestHandler.charge(id, amount, idempotencyKey, forwardedBy));
+    }
+
+    /**
+     * 특정 유저의 포인트 사용
+     * Idempotency-Key 와 429 응답은 PointController 와 같다.
+     */
+    @PatchMapping("{id}/use")
+    public Mono<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = PointController.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestHeader(value = PointRouter.FORWARDED_HEADER, required = false) String forwardedBy
+    ) {
+        return offloadFuture(() -> pointRequestHandler.use(id, amount, idempotencyKey, forwardedBy));
+    }
+
+    /**
+     * 한 유저의 포인트를 다른 유저에게 이체한다.
+     */
+    @PostMapping("transfer")
+    public Mono<PointTransferResult> transfer(
+            @RequestBody PointTransfer transfer,
+            @RequestHeader(value = PointRouter.FORWARDED_HEADER, required = false) String forwardedBy
+    ) {
+        return offloadFuture(() -> pointRequestHandler.transfer(transfer, forwardedBy));
+    }
+
+    /**
+     * 여러 유저의 잔고를 한 번에 조회한다. 중복된 id 는 한 번만 응답한다.
+     * 클러스터 모드에서는 담당 노드별로 나누어 각 노드의 잔고를 응답한다.
+     */
+    @PostMapping("balances")
+    public Mono<List<UserPoint>> balances(
+            @RequestBody List<Long> ids,
+            @RequestHeader(value = PointRouter.FORWARDED_HEADER, required = false) String forwardedBy
+    ) {
+        return offload(() -> pointRequestHandler.balances(ids, forwardedBy));
+    }
+
+    /**
+     * 여러 유저의 포인트 충전/사용을 한 번에 처리한다.
+     * 요청 속도 한도와 429 응답은 PointController 와 같다.
+     */
+    @PostMapping("batch")
+    public Mono<List<PointCommandResult>> batch(
+            @RequestBody List<PointCommand> commands
+    ) {
+        return offloadFuture(() -> pointRequestHandler.batch(commands));
+    }
+
+    private <T> Mono<T> offload(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(scheduler);
+    }
+
+    private <T> Mono<T> offloadFuture(Supplier<CompletableFuture<T>> action) {
+        return Mono.fromFuture(action).subscribeOn(scheduler);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+}
@@ -5,7 +5,10 @@ package io.hhplus.tdd.point;
  * 포인트 트랜잭션 종류
  * - CHARGE : 충전
  * - USE : 사용
+ * - TRANSFER_OUT : 이체로 보낸 포인트 (보낸 유저의 내역)
+ * - TRANSFER_IN : 이체로 받은 포인트 (받은 유저의 내역)
+ * 저장소가 순서(ordinal)로 기록하므로 새 값은 항상 뒤에 추가한다.
  */
 public enum TransactionType {
-    CHARGE, USE
-}
\ No newline at end of file
+    CHARGE, USE, TRANSFER_OUT, TRANSFER_IN
+}
@@ -0,0 +1,138 @@
+package io.hhplus.tdd.point.admission;
+
+import io.hhplus.tdd.point.exception.TooManyRequestsException;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 충전/사용 요청이 PointService 에 들어가기 전에 거르는 입구
+ * - 유저별 요청 속도 : GCRA(토큰 버킷과 같은 결과) 로 유저마다 다음 허용 시각 하나만 기억한다.
+ *   상태는 고정 크기 AtomicLongArray 에 유저 id 해시로 나누어 두므로 유저 수와 관계없이 메모리가 일정하고, 갱신은 CAS 로 한다.
+ *   해시가 겹치는 유저끼리는 한도를 나누어 쓴다. (StripedUserLockRegistry 와 같은 절충)
+ * - 전체 동시 처리 수 : 처리 중인 요청이 max-concurrent 개면 기다리지 않고 바로 거절한다.
+ * - 일괄 처리 요청은 건수만큼 유저별 한도를 차지하고, 함께 처리되는 유저 수만큼 동시 처리 수를 차지한다.
+ * 거절은 TooManyRequestsException 으로 실패한 future 를 반환한다. (HTTP 429)
+ */
+@Component
+public class AdmissionControl {
+
+    private final PointMetrics pointMetrics;
+    private final AtomicLongArray theoreticalArrivals;
+    // 요청 하나가 차지하는 시간과, 다음 허용 시각이 현재보다 얼마나 앞서도 되는지 (순간 허용량)
+    private final long emissionNanos;
+    private final long toleranceNanos;
+    private final Semaphore inFlight;
+    private final int maxConcurrent;
+    // 0 으로 채워진 슬롯이 "오래전에 마지막으로 허용됨" 이 되도록 시작 시각 기준으로 잰다
+    private final long origin = System.nanoTime();
+
+    public AdmissionControl(
+            PointMetrics pointMetrics,
+            @Value("${point.admission.user.rate-per-second:100}") double ratePerSecond,
+            @Value("${point.admission.user.burst:200}") int burst,
+            @Value("${point.admission.user.slots:65536}") int slots,
+            @Value("${point.admission.max-concurrent:1000}") int maxConcurrent
+    ) {
+        this.pointMetrics = pointMetrics;
+        this.emissionNanos = ratePerSecond > 0 ? (long) (1_000_000_000L / ratePerSecond) : 0L;
+        this.toleranceNanos = emissionNanos * (Math.max(burst, 1) - 1);
+        this.theoreticalArrivals = new AtomicLongArray(ratePerSecond > 0 ? slots : 0);
+        this.inFlight = maxConcurrent > 0 ? new Semaphore(maxConcurrent) : null;
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * 한도 안이면 action 을 실행하고, 결과가 끝날 때까지 동시 처리 수를 차지한다.
+     */
+    public <T> CompletableFuture<T> admit(long userId, Supplier<CompletableFuture<T>> action) {
+        if (!tryAcquireRate(userId, 1)) {
+            return rejected("rate_limited", "요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        return runInFlight(1, action);
+    }
+
+    /**
+     * 여러 건을 한 번에 처리하는 요청을 건마다 그 유저의 한도에 반영한다. (userIds 는 건마다 하나씩)
+     * - 한 유저라도 한도를 넘으면 전체를 거절하고, 먼저 차지한 다른 유저의 한도는 돌려준다.
+     * - 유저별로 병렬 처리되므로 동시 처리 수는 유저 수만큼 차지한다. (최대 max-concurrent)
+     */
+    public <T> CompletableFuture<T> admitAll(Collection<Long> userIds, Supplier<CompletableFuture<T>> action) {
+        Map<Long, Integer> counts = new LinkedHashMap<>();
+        userIds.forEach(userId -> counts.merge(userId, 1, Integer::sum));
+
+        List<Map.Entry<Long, Integer>> acquired = new ArrayList<>(counts.size());
+        for (Map.Entry<Long, Integer> count : counts.entrySet()) {
+            if (!tryAcquireRate(count.getKey(), count.getValue())) {
+                acquired.forEach(each -> releaseRate(each.getKey(), each.getValue()));
+                return rejected("rate_limited", "요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+            }
+            acquired.add(count);
+        }
+        return runInFlight(Math.max(1, Math.min(counts.size(), maxConcurrent)), action);
+    }
+
+    private <T> CompletableFuture<T> runInFlight(int permits, Supplier<CompletableFuture<T>> action) {
+        if (inFlight == null) {
+            return action.get();
+        }
+        if (!inFlight.tryAcquire(permits)) {
+            return rejected("overloaded", "처리 중인 요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        CompletableFuture<T> future;
+        try {
+            future = action.get();
+        } catch (RuntimeException e) {
+            inFlight.release(permits);
+            throw e;
+        }
+        future.whenComplete((result, error) -> inFlight.release(permits));
+        return future;
+    }
+
+    // permits 건을 한꺼번에 허용할 수 있을 때만 다음 허용 시각을 permits 건만큼 미룬다
+    private boolean tryAcquireRate(long userId, int permits) {
+        if (emissionNanos == 0L) {
+            return true;
+        }
+        int slot = slotOf(userId);
+        long now = System.nanoTime() - origin;
+        while (true) {
+            long arrival = theoreticalArrivals.get(slot);
+            long start = Math.max(arrival, now);
+            if (start + emissionNanos * (permits - 1) - now > toleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrivals.compareAndSet(slot, arrival, start + emissionNanos * permits)) {
+                return true;
+            }
+        }
+    }
+
+    private void releaseRate(long userId, int permits) {
+        if (emissionNanos > 0L) {
+            theoreticalArrivals.addAndGet(slotOf(userId), -emissionNanos * permits);
+        }
+    }
+
+    private int slotOf(long userId) {
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return Math.floorMod((int) (hash ^ (hash >>> 32)), theoreticalArrivals.length());
+    }
+
+    private <T> CompletableFuture<T> rejected(String reason, String message) {
+        pointMetrics.recordRejection(reason);
+        return CompletableFuture.failedFuture(new TooManyRequestsException(message));
+    }
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point.cluster;
+
+import java.util.List;
+
+/**
+ * 클러스터 노드 목록을 제공하는 출처
+ * - point.cluster.membership=static : 설정에 적힌 고정 목록 (기본값)
+ * 모든 노드가 같은 목록을 받으면 같은 ring 을 만들어 유저마다 같은 담당 노드를 고른다.
+ */
+public interface ClusterMembership {
+
+    /**
+     * 이 노드의 id
+     */
+    String selfId();
+
+    /**
+     * 현재 노드 목록. 목록이 바뀌면 다음 호출부터 새 ring 으로 담당 노드를 고른다.
+     */
+    List<ClusterNode> nodes();
+}
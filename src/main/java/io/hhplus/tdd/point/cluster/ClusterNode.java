@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point.cluster;
+
+/**
+ * 포인트 서비스 노드 하나 (id 는 consistent hash ring 의 위치를 정하고, baseUrl 로 요청을 넘긴다)
+ */
+public record ClusterNode(
+        String id,
+        String baseUrl
+) {
+}
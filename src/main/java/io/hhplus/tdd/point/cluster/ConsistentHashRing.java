@@ -0,0 +1,72 @@
+package io.hhplus.tdd.point.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 유저 id 를 담당 노드에 나누는 consistent hash ring
+ * - 노드마다 virtualNodes 개의 위치를 ring 에 두어 유저가 노드 사이에 고르게 나뉘게 한다.
+ * - 노드가 하나 추가/제거되면 그 노드가 맡거나 맡았던 유저만 담당 노드가 바뀐다.
+ * 같은 노드 목록이면 목록 순서와 관계없이 같은 ring 이 만들어진다.
+ */
+public class ConsistentHashRing {
+
+    private final List<ClusterNode> nodes;
+    private final Set<ClusterNode> nodeSet;
+    private final NavigableMap<Long, ClusterNode> ring = new TreeMap<>();
+
+    public ConsistentHashRing(List<ClusterNode> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("노드가 하나 이상 있어야 합니다.");
+        }
+        this.nodes = List.copyOf(nodes);
+        this.nodeSet = Set.copyOf(new HashSet<>(nodes));
+        for (ClusterNode node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                // 위치가 겹치면 id 가 작은 노드가 갖는다 (목록 순서와 관계없이 같은 결과)
+                ring.merge(hash(node.id() + "#" + i), node, (current, added) -> current.id().compareTo(added.id()) <= 0 ? current : added);
+            }
+        }
+    }
+
+    public ClusterNode ownerOf(long userId) {
+        Map.Entry<Long, ClusterNode> entry = ring.ceilingEntry(mix(userId));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public List<ClusterNode> nodes() {
+        return nodes;
+    }
+
+    /**
+     * 목록 순서와 관계없이 같은 노드들로 만든 ring 인지 확인한다. (순서만 다르면 같은 ring 이므로 다시 만들 필요가 없다)
+     */
+    public boolean hasSameNodes(Collection<ClusterNode> others) {
+        return nodeSet.equals(new HashSet<>(others));
+    }
+
+    // FNV-1a 후 mix 로 비트를 고르게 섞는다
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
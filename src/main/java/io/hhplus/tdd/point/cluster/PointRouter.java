@@ -0,0 +1,261 @@
+package io.hhplus.tdd.point.cluster;
+
+import io.hhplus.tdd.point.PointController;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.PointTransferResult;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.exception.NotOwnerException;
+import io.hhplus.tdd.point.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 유저마다 담당 노드를 정하고, 담당이 아닌 노드에 들어온 요청을 담당 노드로 넘긴다. (point.cluster.enabled=true)
+ * - 한 유저의 잔고는 담당 노드 한 곳에서만 바뀌므로 유저 락이 JVM 하나 안에서만 유효해도 이중 사용이 생기지 않는다.
+ * - 넘기는 요청에는 FORWARDED_HEADER 를 붙여서, 노드끼리 목록이 잠시 달라도 요청이 노드 사이를 계속 오가지 않게 한다.
+ *   받은 노드가 담당이 아니면 처리하지 않고 503 으로 거절하므로, 한 유저의 잔고는 항상 담당 노드 한 곳에서만 바뀐다.
+ * - 잔고/내역/요약 조회도 담당 노드에서 읽는다. 내역 스트리밍은 넘기지 않고 담당 노드에서만 받는다. (requireOwned)
+ * - 담당 노드의 429/503 은 그대로 429/503 으로 응답하고, 그 밖의 실패는 호출한 쪽에 예외로 전달한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.cluster.enabled", havingValue = "true")
+public class PointRouter {
+
+    public static final String FORWARDED_HEADER = "X-Point-Forwarded-By";
+
+    private final ClusterMembership clusterMembership;
+    private final int virtualNodes;
+    private final RestClient restClient;
+    private volatile ConsistentHashRing ring;
+
+    // 넘긴 요청의 응답을 기다리는 동안 요청 스레드를 돌려준다
+    private final ExecutorService forwardExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PointRouter(
+            ClusterMembership clusterMembership,
+            @Value("${point.cluster.virtual-nodes:128}") int virtualNodes,
+            @Value("${point.cluster.forward-timeout-ms:3000}") int forwardTimeoutMillis
+    ) {
+        this.clusterMembership = clusterMembership;
+        this.virtualNodes = virtualNodes;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(forwardTimeoutMillis);
+        requestFactory.setReadTimeout(forwardTimeoutMillis);
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+        this.ring = new ConsistentHashRing(clusterMembership.nodes(), virtualNodes);
+    }
+
+    public ClusterNode ownerOf(long userId) {
+        return ring().ownerOf(userId);
+    }
+
+    /**
+     * 이 노드가 처리해야 하는 요청인지 확인한다.
+     * - 이 노드가 담당하는 유저면 처리한다.
+     * - 노드 목록에 있는 노드가 넘긴 요청인데 이 노드의 ring 에서는 담당이 아니면 다시 넘기지 않고 NotOwnerException 으로 거절한다.
+     * - 목록에 없는 id 가 적힌 FORWARDED_HEADER 는 없는 것으로 보고 담당 노드로 넘긴다.
+     */
+    public boolean isLocal(long userId, String forwardedBy) {
+        ClusterNode owner = ownerOf(userId);
+        if (owner.id().equals(clusterMembership.selfId())) {
+            return true;
+        }
+        if (forwardedBy != null && isMember(forwardedBy)) {
+            throw new NotOwnerException("이 노드는 유저(" + userId + ")의 담당이 아닙니다. 잠시 후 다시 시도해 주세요.");
+        }
+        return false;
+    }
+
+    /**
+     * 여러 유저를 함께 바꾸는 요청(이체의 받는 유저, 일괄 처리)과 내역 스트리밍은 모든 유저를 이 노드가 담당할 때만 처리한다.
+     * 담당이 아닌 유저가 있으면 NotOwnerException(503) 으로 거절한다.
+     */
+    public void requireOwned(Collection<Long> userIds) {
+        for (long userId : userIds) {
+            if (!ownerOf(userId).id().equals(clusterMembership.selfId())) {
+                throw new NotOwnerException("다른 노드가 담당하는 유저(" + userId + ")는 이 노드에서 함께 처리할 수 없습니다.");
+            }
+        }
+    }
+
+    public UserPoint getPoint(long userId) {
+        return exchange(() -> restClient.get()
+                .uri(ownerOf(userId).baseUrl() + "/point/{id}", userId)
+                .header(FORWARDED_HEADER, clusterMembership.selfId())
+                .retrieve()
+                .body(UserPoint.class));
+    }
+
+    /**
+     * 여러 유저의 잔고를 담당 노드별로 나누어 조회하고 요청 순서대로 합친다. (중복된 id 는 한 번만)
+     * 이 노드가 담당하는 유저는 local 로 읽고, 다른 노드의 유저는 노드마다 한 번씩 병렬로 넘긴다.
+     */
+    public List<UserPoint> getPoints(List<Long> userIds, String forwardedBy, Function<List<Long>, List<UserPoint>> local) {
+        Set<Long> distinctIds = new LinkedHashSet<>(userIds);
+        List<Long> localIds = new ArrayList<>();
+        Map<ClusterNode, List<Long>> remoteIds = new LinkedHashMap<>();
+        for (long userId : distinctIds) {
+            if (isLocal(userId, forwardedBy)) {
+                localIds.add(userId);
+            } else {
+                remoteIds.computeIfAbsent(ownerOf(userId), owner -> new ArrayList<>()).add(userId);
+            }
+        }
+
+        List<CompletableFuture<UserPoint[]>> remotePoints = remoteIds.entrySet().stream()
+                .map(entry -> forward(() -> restClient.post()
+                        .uri(entry.getKey().baseUrl() + "/point/balances")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(FORWARDED_HEADER, clusterMembership.selfId())
+                        .body(entry.getValue())
+                        .retrieve()
+                        .body(UserPoint[].class)))
+                .toList();
+
+        Map<Long, UserPoint> pointsById = new HashMap<>();
+        if (!localIds.isEmpty()) {
+            local.apply(localIds).forEach(userPoint -> pointsById.put(userPoint.id(), userPoint));
+        }
+        for (CompletableFuture<UserPoint[]> remote : remotePoints) {
+            for (UserPoint userPoint : join(remote)) {
+                pointsById.put(userPoint.id(), userPoint);
+            }
+        }
+        return distinctIds.stream().map(pointsById::get).toList();
+    }
+
+    /**
+     * 내역 조회를 담당 노드로 넘긴다. (파라미터는 PointController 와 같고, 없는 파라미터는 넘기지 않는다)
+     */
+    public CompletableFuture<List<PointHistory>> getHistories(long userId, Long after, Long from, Long to, Integer limit) {
+        URI uri = UriComponentsBuilder.fromUriString(ownerOf(userId).baseUrl())
+                .path("/point/{id}/histories")
+                .queryParamIfPresent("after", Optional.ofNullable(after))
+                .queryParamIfPresent("from", Optional.ofNullable(from))
+                .queryParamIfPresent("to", Optional.ofNullable(to))
+                .queryParamIfPresent("limit", Optional.ofNullable(limit))
+                .buildAndExpand(userId)
+                .toUri();
+        return forward(() -> List.of(restClient.get()
+                .uri(uri)
+                .header(FORWARDED_HEADER, clusterMembership.selfId())
+                .retrieve()
+                .body(PointHistory[].class)));
+    }
+
+    public PointSummary getSummary(long userId) {
+        return exchange(() -> restClient.get()
+                .uri(ownerOf(userId).baseUrl() + "/point/{id}/summary", userId)
+                .header(FORWARDED_HEADER, clusterMembership.selfId())
+                .retrieve()
+                .body(PointSummary.class));
+    }
+
+    public CompletableFuture<UserPoint> charge(long userId, long amount, String idempotencyKey) {
+        return forward(() -> patch(userId, "charge", amount, idempotencyKey));
+    }
+
+    public CompletableFuture<UserPoint> use(long userId, long amount, String idempotencyKey) {
+        return forward(() -> patch(userId, "use", amount, idempotencyKey));
+    }
+
+    /**
+     * 이체는 보내는 유저의 담당 노드로 넘긴다. (받는 유저도 그 노드가 담당해야 처리된다)
+     */
+    public CompletableFuture<PointTransferResult> transfer(PointTransfer transfer) {
+        return forward(() -> restClient.post()
+                .uri(ownerOf(transfer.fromUserId()).baseUrl() + "/point/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(FORWARDED_HEADER, clusterMembership.selfId())
+                .body(transfer)
+                .retrieve()
+                .body(PointTransferResult.class));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        forwardExecutor.shutdown();
+    }
+
+    private UserPoint patch(long userId, String operation, long amount, String idempotencyKey) {
+        return restClient.patch()
+                .uri(ownerOf(userId).baseUrl() + "/point/{id}/" + operation, userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(FORWARDED_HEADER, clusterMembership.selfId())
+                .headers(headers -> {
+                    if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+                        headers.set(PointController.IDEMPOTENCY_KEY, idempotencyKey);
+                    }
+                })
+                .body(amount)
+                .retrieve()
+                .body(UserPoint.class);
+    }
+
+    private <T> CompletableFuture<T> forward(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(() -> exchange(call), forwardExecutor);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private <T> T exchange(Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (RestClientResponseException e) {
+            if (e.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                throw new TooManyRequestsException("담당 노드의 처리 한도를 넘었습니다. 잠시 후 다시 시도해 주세요.");
+            }
+            if (e.getStatusCode().value() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                throw new NotOwnerException("노드 목록이 맞춰지는 중입니다. 잠시 후 다시 시도해 주세요.");
+            }
+            throw e;
+        }
+    }
+
+    private boolean isMember(String nodeId) {
+        return clusterMembership.nodes().stream().anyMatch(node -> node.id().equals(nodeId));
+    }
+
+    // 노드 목록이 바뀌었으면 ring 을 다시 만든다
+    private ConsistentHashRing ring() {
+        ConsistentHashRing current = ring;
+        if (!current.hasSameNodes(clusterMembership.nodes())) {
+            current = new ConsistentHashRing(clusterMembership.nodes(), virtualNodes);
+            ring = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,48 @@
+package io.hhplus.tdd.point.cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * point.cluster.nodes 에 "id=baseUrl" 형식으로 적힌 고정 노드 목록
+ */
+@Component
+@ConditionalOnExpression("${point.cluster.enabled:false} and '${point.cluster.membership:static}' == 'static'")
+public class StaticClusterMembership implements ClusterMembership {
+
+    private final String selfId;
+    private final List<ClusterNode> nodes;
+
+    public StaticClusterMembership(
+            @Value("${point.cluster.self}") String selfId,
+            @Value("${point.cluster.nodes}") List<String> nodes
+    ) {
+        List<ClusterNode> parsed = new ArrayList<>(nodes.size());
+        for (String node : nodes) {
+            int separator = node.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalStateException("point.cluster.nodes 는 id=baseUrl 형식이어야 합니다. : " + node);
+            }
+            parsed.add(new ClusterNode(node.substring(0, separator).trim(), node.substring(separator + 1).trim()));
+        }
+        if (parsed.stream().noneMatch(node -> node.id().equals(selfId))) {
+            throw new IllegalStateException("point.cluster.nodes 에 이 노드(" + selfId + ")가 없습니다.");
+        }
+        this.selfId = selfId;
+        this.nodes = List.copyOf(parsed);
+    }
+
+    @Override
+    public String selfId() {
+        return selfId;
+    }
+
+    @Override
+    public List<ClusterNode> nodes() {
+        return nodes;
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.exception;
+
+/**
+ * 이 노드가 유저의 담당이 아니라서 요청을 처리할 수 없을 때 사용한다. (HTTP 503)
+ * - 다른 노드가 넘긴 요청인데 이 노드가 담당이 아닐 때 : 노드끼리 노드 목록이 잠시 다를 때 생기므로 목록이 맞춰진 뒤 다시 시도해도 된다.
+ * - 넘기지 않는 요청(이체의 받는 유저, 일괄 처리, 내역 스트리밍)에 담당이 아닌 유저가 있을 때 : 담당 노드로 다시 보내야 한다.
+ */
+public class NotOwnerException extends RuntimeException {
+    public NotOwnerException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.exception;
+
+/**
+ * 요청이 너무 많아서 처리하지 않고 바로 거절할 때 사용한다. (HTTP 429)
+ * 업무 규칙 위반이 아니므로 PointException 과 달리 같은 요청을 다시 시도해도 된다.
+ */
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,124 @@
+package io.hhplus.tdd.point.idempotency;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.exception.PointException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 별 충전/사용 결과를 기억해 두는 캐시
+ * - 키는 유저와 거래 종류 안에서만 유효하다. (다른 유저가 같은 키를 써도 섞이지 않는다)
+ * - 같은 키로 동시에 들어온 요청은 처음 요청의 결과를 함께 기다리고, 이후 요청은 유저 락이나 테이블을 거치지 않고 바로 응답한다.
+ * - PointException 같은 업무상 실패도 결과로 기억하고, 그 밖의 실패는 다시 시도할 수 있게 지운다.
+ * - 항목은 들어온 순서대로 TTL 이 지나거나 max-entries 를 넘으면 오래된 것부터 지운다.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Lock evictLock = new ReentrantLock();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public IdempotencyCache(
+            @Value("${point.idempotency.ttl-ms:600000}") long ttlMillis,
+            @Value("${point.idempotency.max-entries:100000}") int maxEntries
+    ) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 처음 보는 키면 action 을 실행하고, 이미 처리 중이거나 처리된 키면 그 결과를 반환한다.
+     */
+    public CompletableFuture<UserPoint> execute(long userId, TransactionType type, long amount, String idempotencyKey,
+                                                Supplier<CompletableFuture<UserPoint>> action) {
+        Key key = new Key(userId, type, idempotencyKey);
+        long now = System.nanoTime();
+
+        Entry existing = entries.get(key);
+        if (existing != null && !existing.expired(now)) {
+            return replay(existing, amount);
+        }
+
+        Entry entry = new Entry(key, amount, now + ttlNanos, new CompletableFuture<>());
+        Entry winner = entries.compute(key, (k, current) -> current == null || current.expired(now) ? entry : current);
+        if (winner != entry) {
+            return replay(winner, amount);
+        }
+
+        order.add(entry);
+        size.incrementAndGet();
+        evict(now);
+        run(entry, action);
+        return entry.result().copy();
+    }
+
+    private void run(Entry entry, Supplier<CompletableFuture<UserPoint>> action) {
+        CompletableFuture<UserPoint> future;
+        try {
+            future = action.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((userPoint, error) -> {
+            if (error == null) {
+                entry.result().complete(userPoint);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (!(cause instanceof PointException)) {
+                entries.remove(entry.key(), entry);
+            }
+            entry.result().completeExceptionally(cause);
+        });
+    }
+
+    private CompletableFuture<UserPoint> replay(Entry entry, long amount) {
+        if (entry.amount() != amount) {
+            return CompletableFuture.failedFuture(new PointException("같은 Idempotency-Key 로 다른 금액을 요청할 수 없습니다."));
+        }
+        return entry.result().copy();
+    }
+
+    // 한 스레드만 지우면 되므로 다른 스레드가 지우는 중이면 건너뛴다
+    private void evict(long now) {
+        if (!evictLock.tryLock()) {
+            return;
+        }
+        try {
+            Entry head;
+            while ((head = order.peek()) != null && (size.get() > maxEntries || head.expired(now))) {
+                order.poll();
+                size.decrementAndGet();
+                entries.remove(head.key(), head);
+            }
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    private record Key(long userId, TransactionType type, String idempotencyKey) {
+    }
+
+    private record Entry(Key key, long amount, long expiresAt, CompletableFuture<UserPoint> result) {
+        private boolean expired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.hhplus.tdd.point.lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 락을 사용 중인 스레드 수를 세어서, 아무도 사용하지 않는 유저의 락은 제거하는 UserLockRegistry
+ * 보관되는 락의 수는 동시에 처리 중인 유저 수를 넘지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.lock.registry", havingValue = "ref-counted", matchIfMissing = true)
+public class RefCountedUserLockRegistry implements UserLockRegistry {
+
+    private final Map<Long, RefCountedLock> locks = new ConcurrentHashMap<>();
+    private final long waitTimeoutNanos;
+
+    public RefCountedUserLockRegistry(@Value("${point.lock.wait-timeout-ms:1000}") long waitTimeoutMillis) {
+        this.waitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(waitTimeoutMillis);
+    }
+
+    @Override
+    public <T> T withLock(long userId, Supplier<T> action) {
+        RefCountedLock refCountedLock = retain(userId);
+        try {
+            TimedLocks.lock(refCountedLock.lock, waitTimeoutNanos);
+        } catch (RuntimeException e) {
+            release(userId);
+            throw e;
+        }
+        try {
+            return action.get();
+        } finally {
+            refCountedLock.lock.unlock();
+            release(userId);
+        }
+    }
+
+    /**
+     * 현재 보관 중인 락의 수
+     */
+    public int size() {
+        return locks.size();
+    }
+
+    private RefCountedLock retain(long userId) {
+        // compute 는 키 단위로 원자적이므로 참조 수 증감과 제거가 엇갈리지 않는다
+        return locks.compute(userId, (id, refCountedLock) -> {
+            RefCountedLock retained = refCountedLock != null ? refCountedLock : new RefCountedLock();
+            retained.references++;
+            return retained;
+        });
+    }
+
+    private void release(long userId) {
+        locks.computeIfPresent(userId, (id, refCountedLock) -> --refCountedLock.references == 0 ? null : refCountedLock);
+    }
+
+    private static final class RefCountedLock {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int references;
+    }
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point.lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 고정 개수의 락 배열을 유저 id 로 나누어 쓰는 UserLockRegistry
+ * 메모리 사용량은 유저 수와 무관하지만, 같은 stripe 에 속한 다른 유저끼리는 서로 기다린다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.lock.registry", havingValue = "striped")
+public class StripedUserLockRegistry implements UserLockRegistry {
+
+    private final ReentrantLock[] stripes;
+    private final long waitTimeoutNanos;
+
+    public StripedUserLockRegistry(
+            @Value("${point.lock.stripes:1024}") int stripeCount,
+            @Value("${point.lock.wait-timeout-ms:1000}") long waitTimeoutMillis
+    ) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("point.lock.stripes 는 1 이상이어야 합니다.");
+        }
+        this.waitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(waitTimeoutMillis);
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public <T> T withLock(long userId, Supplier<T> action) {
+        return withStripe(stripeOf(userId), action);
+    }
+
+    private <T> T withStripe(int stripe, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripe];
+        TimedLocks.lock(lock, waitTimeoutNanos);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 서로 다른 유저도 같은 stripe 를 쓸 수 있으므로 유저 id 가 아니라 stripe 번호 순서로 잡는다.
+     * 두 유저가 같은 stripe 면 락을 한 번만 잡는다.
+     */
+    @Override
+    public <T> T withLocks(long firstUserId, long secondUserId, Supplier<T> action) {
+        int first = stripeOf(firstUserId);
+        int second = stripeOf(secondUserId);
+        if (first == second) {
+            return withStripe(first, action);
+        }
+        return withStripe(Math.min(first, second), () -> withStripe(Math.max(first, second), action));
+    }
+
+    int stripeOf(long userId) {
+        // 연속된 id 가 고르게 퍼지도록 해시를 섞는다
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return Math.floorMod((int) (hash ^ (hash >>> 32)), stripes.length);
+    }
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point.lock;
+
+import io.hhplus.tdd.point.exception.TooManyRequestsException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 정해진 시간까지만 락을 기다린다.
+ * 한 유저에 요청이 몰려도 대기 스레드가 끝없이 쌓이지 않도록, 시간이 지나면 TooManyRequestsException 으로 거절한다.
+ */
+final class TimedLocks {
+
+    private TimedLocks() {
+    }
+
+    static void lock(Lock lock, long timeoutNanos) {
+        try {
+            if (!lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new TooManyRequestsException("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TooManyRequestsException("락을 기다리는 중 중단되었습니다.");
+        }
+    }
+}
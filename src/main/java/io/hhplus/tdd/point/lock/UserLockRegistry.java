@@ -0,0 +1,30 @@
+package io.hhplus.tdd.point.lock;
+
+import java.util.function.Supplier;
+
+/**
+ * 유저별 락을 제공하는 저장소
+ * - point.lock.registry=ref-counted : 사용 중인 유저의 락만 보관 (기본값)
+ * - point.lock.registry=striped : 고정 개수의 락을 유저 id 해시로 나누어 사용
+ */
+public interface UserLockRegistry {
+
+    /**
+     * 유저의 락을 잡은 상태로 action 을 실행한다.
+     * point.lock.wait-timeout-ms 안에 락을 얻지 못하면 TooManyRequestsException 을 던진다.
+     */
+    <T> T withLock(long userId, Supplier<T> action);
+
+    /**
+     * 두 유저의 락을 모두 잡은 상태로 action 을 실행한다.
+     * 모든 호출이 같은 순서(작은 유저 id 먼저)로 락을 잡으므로 서로 반대 방향의 이체가 겹쳐도 교착 상태가 생기지 않는다.
+     */
+    default <T> T withLocks(long firstUserId, long secondUserId, Supplier<T> action) {
+        if (firstUserId == secondUserId) {
+            return withLock(firstUserId, action);
+        }
+        long lower = Math.min(firstUserId, secondUserId);
+        long upper = Math.max(firstUserId, secondUserId);
+        return withLock(lower, () -> withLock(upper, action));
+    }
+}
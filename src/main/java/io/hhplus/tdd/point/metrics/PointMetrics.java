@@ -0,0 +1,107 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 포인트 처리 구간별 지표
+ * - point.lock.wait / point.lock.hold : 유저 락 대기 시간 / 점유 시간
+ * - point.repository : 테이블 호출 시간 (repository, operation 태그)
+ * - point.rejections : 거절된 요청 수 (reason 태그, 업무 규칙 위반과 과부하 거절을 함께 센다)
+ * - point.combine.batch : 합쳐서 처리 모드에서 한 번의 잔고 저장으로 처리한 요청 수
+ * Timer 는 미리 만들어 두고 System.nanoTime 으로 직접 기록해서 hot path 의 부담을 줄인다.
+ */
+@Component
+public class PointMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer lockWait;
+    private final Timer lockHold;
+    private final Timer userPointSelect;
+    private final Timer userPointInsertOrUpdate;
+    private final Timer historyInsert;
+    private final Timer historySelect;
+    private final DistributionSummary combinedBatch;
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    public PointMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.lockWait = timer("point.lock.wait", "유저 락을 얻기까지 기다린 시간");
+        this.lockHold = timer("point.lock.hold", "유저 락을 잡고 있던 시간");
+        this.userPointSelect = repositoryTimer("user_point", "select");
+        this.userPointInsertOrUpdate = repositoryTimer("user_point", "insert_or_update");
+        this.historyInsert = repositoryTimer("point_history", "insert");
+        this.historySelect = repositoryTimer("point_history", "select");
+        this.combinedBatch = DistributionSummary.builder("point.combine.batch")
+                .description("한 번의 잔고 저장으로 처리한 요청 수")
+                .register(registry);
+    }
+
+    public void recordLockWait(long nanos) {
+        lockWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockHold(long nanos) {
+        lockHold.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public <T> T timeUserPointSelect(Supplier<T> call) {
+        return time(userPointSelect, call);
+    }
+
+    public <T> T timeUserPointInsertOrUpdate(Supplier<T> call) {
+        return time(userPointInsertOrUpdate, call);
+    }
+
+    public <T> T timeHistoryInsert(Supplier<T> call) {
+        return time(historyInsert, call);
+    }
+
+    public <T> T timeHistorySelect(Supplier<T> call) {
+        return time(historySelect, call);
+    }
+
+    public void recordCombinedBatch(int size) {
+        combinedBatch.record(size);
+    }
+
+    public void recordRejection(String reason) {
+        rejections.computeIfAbsent(reason, key -> Counter.builder("point.rejections")
+                .description("거절된 요청 수")
+                .tag("reason", key)
+                .register(registry)).increment();
+    }
+
+    private <T> T time(Timer timer, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer repositoryTimer(String repository, String operation) {
+        return Timer.builder("point.repository")
+                .description("테이블 호출 시간")
+                .tag("repository", repository)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
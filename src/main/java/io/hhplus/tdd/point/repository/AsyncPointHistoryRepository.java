@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 호출한 스레드를 붙잡지 않는 PointHistoryRepository
+ */
+public interface AsyncPointHistoryRepository {
+
+    CompletableFuture<PointHistory> insert(long userId, long amount, TransactionType type, long updateMillis);
+    CompletableFuture<List<PointHistory>> selectAllByUserId(long userId);
+
+    // afterId 이후의 내역을 id 순으로 최대 limit 개 조회
+    CompletableFuture<List<PointHistory>> selectByUserIdAfter(long userId, long afterId, int limit);
+
+    // afterId 이후 updateMillis 가 [fromMillis, toMillis] 인 내역을 id 순으로 최대 limit 개 조회
+    CompletableFuture<List<PointHistory>> selectByUserIdBetween(long userId, long fromMillis, long toMillis, long afterId, int limit);
+}
@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 호출한 스레드를 붙잡지 않는 UserPointRepository
+ * 결과를 기다리지 않고 다음 단계를 시작하거나, 서로 관계없는 호출을 동시에 보낼 때 사용한다.
+ */
+public interface AsyncUserPointRepository {
+    CompletableFuture<UserPoint> selectById(long id);
+    CompletableFuture<UserPoint> insertOrUpdate(long id, long amount);
+}
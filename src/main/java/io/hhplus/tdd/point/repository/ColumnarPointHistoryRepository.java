@@ -0,0 +1,220 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 내역을 컬럼별 off-heap 버퍼에 저장하는 PointHistoryRepository (point.history.store=columnar)
+ * - userId / amount / updateMillis 는 long 컬럼, type 은 byte 컬럼으로 chunk 단위 direct 버퍼에 저장한다.
+ * - id 는 저장 순서(row + 1)이므로 따로 저장하지 않는다.
+ * - 유저별 인덱스는 row 번호만 int 배열로 가지고, PointHistory 는 조회 결과로 꺼내는 row 만 그때 만든다.
+ * - 쓰기는 락으로 직렬화하고, 읽기는 락 없이 공개된 row 까지만 본다.
+ */
+@Primary
+@Component
+@ConditionalOnExpression("'${point.history.store:table}' == 'columnar' and '${point.storage.type:memory}' == 'memory'")
+public class ColumnarPointHistoryRepository implements PointHistoryRepository {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final PointMetrics pointMetrics;
+    private final int chunkRows;
+    private final Lock writeLock = new ReentrantLock();
+    private final Map<Long, UserRows> rowsByUser = new ConcurrentHashMap<>();
+    private volatile Chunk[] chunks = new Chunk[0];
+    private volatile int size;
+
+    public ColumnarPointHistoryRepository(
+            PointMetrics pointMetrics,
+            @Value("${point.history.columnar.chunk-rows:65536}") int chunkRows
+    ) {
+        this.pointMetrics = pointMetrics;
+        this.chunkRows = chunkRows;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return pointMetrics.timeHistoryInsert(() -> {
+            writeLock.lock();
+            try {
+                int row = size;
+                if (row == Integer.MAX_VALUE) {
+                    throw new IllegalStateException("더 이상 내역을 저장할 수 없습니다.");
+                }
+                Chunk chunk = chunkFor(row);
+                int index = row % chunkRows;
+                chunk.userIds.put(index, userId);
+                chunk.amounts.put(index, amount);
+                chunk.updateMillis.put(index, updateMillis);
+                chunk.types.put(index, (byte) type.ordinal());
+                rowsByUser.computeIfAbsent(userId, k -> new UserRows()).add(row);
+                size = row + 1;
+                return new PointHistory(row + 1L, userId, amount, type, updateMillis);
+            } finally {
+                writeLock.unlock();
+            }
+        });
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        UserRows rows = rowsByUser.get(userId);
+        return rows == null ? List.of() : pointMetrics.timeHistorySelect(() -> rows.view(0, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public List<PointHistory> selectByUserIdAfter(long userId, long afterId, int limit) {
+        UserRows rows = rowsByUser.get(userId);
+        return rows == null ? List.of() : rows.after(afterId, limit);
+    }
+
+    @Override
+    public List<PointHistory> selectByUserIdBetween(long userId, long fromMillis, long toMillis, long afterId, int limit) {
+        UserRows rows = rowsByUser.get(userId);
+        return rows == null ? List.of() : rows.between(fromMillis, toMillis, afterId, limit);
+    }
+
+    private Chunk chunkFor(int row) {
+        Chunk[] current = chunks;
+        int chunkIndex = row / chunkRows;
+        if (chunkIndex == current.length) {
+            current = Arrays.copyOf(current, current.length + 1);
+            current[chunkIndex] = new Chunk(chunkRows);
+            chunks = current;
+        }
+        return current[chunkIndex];
+    }
+
+    // 공개된 row 만 읽으므로 chunk 배열은 읽는 시점의 것을 그대로 써도 된다
+    private PointHistory materialize(int row) {
+        Chunk chunk = chunks[row / chunkRows];
+        int index = row % chunkRows;
+        return new PointHistory(
+                row + 1L,
+                chunk.userIds.get(index),
+                chunk.amounts.get(index),
+                TYPES[chunk.types.get(index)],
+                chunk.updateMillis.get(index)
+        );
+    }
+
+    private long updateMillisOf(int row) {
+        return chunks[row / chunkRows].updateMillis.get(row % chunkRows);
+    }
+
+    private static final class Chunk {
+        private final LongBuffer userIds;
+        private final LongBuffer amounts;
+        private final LongBuffer updateMillis;
+        private final ByteBuffer types;
+
+        private Chunk(int rows) {
+            this.userIds = ByteBuffer.allocateDirect(rows * Long.BYTES).asLongBuffer();
+            this.amounts = ByteBuffer.allocateDirect(rows * Long.BYTES).asLongBuffer();
+            this.updateMillis = ByteBuffer.allocateDirect(rows * Long.BYTES).asLongBuffer();
+            this.types = ByteBuffer.allocateDirect(rows);
+        }
+    }
+
+    /**
+     * 유저 한 명의 row 번호 목록 (row 는 오름차순이므로 id 순서와 같다)
+     */
+    private final class UserRows {
+        private volatile int[] rows = new int[8];
+        private volatile int count;
+
+        // writeLock 안에서만 호출된다
+        private void add(int row) {
+            int[] current = rows;
+            if (count == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[count] = row;
+            rows = current;
+            count = count + 1;
+        }
+
+        private List<PointHistory> view(int from, int limit) {
+            int total = count;
+            int[] snapshot = rows;
+            return new RowView(snapshot, from, (int) Math.min((long) from + limit, total));
+        }
+
+        private List<PointHistory> after(long afterId, int limit) {
+            int total = count;
+            int[] snapshot = rows;
+            int from = firstIndexAfter(snapshot, total, afterId);
+            return new RowView(snapshot, from, (int) Math.min((long) from + limit, total));
+        }
+
+        // 시간 조건은 updateMillis 컬럼만 읽어서 거르고, 걸러진 row 만 꺼낸다
+        private List<PointHistory> between(long fromMillis, long toMillis, long afterId, int limit) {
+            int total = count;
+            int[] snapshot = rows;
+            int[] matched = new int[Math.min(limit, total)];
+            int matchedCount = 0;
+            for (int i = firstIndexAfter(snapshot, total, afterId); i < total && matchedCount < limit; i++) {
+                long updateMillis = updateMillisOf(snapshot[i]);
+                if (updateMillis >= fromMillis && updateMillis <= toMillis) {
+                    matched[matchedCount++] = snapshot[i];
+                }
+            }
+            return new RowView(matched, 0, matchedCount);
+        }
+
+        private static int firstIndexAfter(int[] snapshot, int total, long afterId) {
+            int low = 0;
+            int high = total;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (snapshot[mid] + 1L <= afterId) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private final class RowView extends AbstractList<PointHistory> implements RandomAccess {
+        private final int[] rows;
+        private final int from;
+        private final int to;
+
+        private RowView(int[] rows, int from, int to) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public PointHistory get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return materialize(rows[from + index]);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
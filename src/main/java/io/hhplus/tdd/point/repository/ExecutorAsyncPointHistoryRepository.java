@@ -0,0 +1,40 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 사용 중인 PointHistoryRepository 를 RepositoryExecutor 에서 호출하는 AsyncPointHistoryRepository
+ */
+@Component
+@RequiredArgsConstructor
+public class ExecutorAsyncPointHistoryRepository implements AsyncPointHistoryRepository {
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final RepositoryExecutor repositoryExecutor;
+
+    @Override
+    public CompletableFuture<PointHistory> insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return repositoryExecutor.supply(() -> pointHistoryRepository.insert(userId, amount, type, updateMillis));
+    }
+
+    @Override
+    public CompletableFuture<List<PointHistory>> selectAllByUserId(long userId) {
+        return repositoryExecutor.supply(() -> pointHistoryRepository.selectAllByUserId(userId));
+    }
+
+    @Override
+    public CompletableFuture<List<PointHistory>> selectByUserIdAfter(long userId, long afterId, int limit) {
+        return repositoryExecutor.supply(() -> pointHistoryRepository.selectByUserIdAfter(userId, afterId, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<PointHistory>> selectByUserIdBetween(long userId, long fromMillis, long toMillis, long afterId, int limit) {
+        return repositoryExecutor.supply(() -> pointHistoryRepository.selectByUserIdBetween(userId, fromMillis, toMillis, afterId, limit));
+    }
+}
@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.UserPoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 사용 중인 UserPointRepository 를 RepositoryExecutor 에서 호출하는 AsyncUserPointRepository
+ */
+@Component
+@RequiredArgsConstructor
+public class ExecutorAsyncUserPointRepository implements AsyncUserPointRepository {
+
+    private final UserPointRepository userPointRepository;
+    private final RepositoryExecutor repositoryExecutor;
+
+    @Override
+    public CompletableFuture<UserPoint> selectById(long id) {
+        return repositoryExecutor.supply(() -> userPointRepository.selectById(id));
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> insertOrUpdate(long id, long amount) {
+        return repositoryExecutor.supply(() -> userPointRepository.insertOrUpdate(id, amount));
+    }
+}
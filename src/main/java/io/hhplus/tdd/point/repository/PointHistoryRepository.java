@@ -9,4 +9,14 @@ public interface PointHistoryRepository {
 
     PointHistory insert(long userId, long amount, TransactionType type, long updateMillis);
     List<PointHistory> selectAllByUserId(long userId);
+
+    // afterId 이후의 내역을 id 순으로 최대 limit 개 조회
+    List<PointHistory> selectByUserIdAfter(long userId, long afterId, int limit);
+
+    // afterId 이후 updateMillis 가 [fromMillis, toMillis] 인 내역을 id 순으로 최대 limit 개 조회
+    List<PointHistory> selectByUserIdBetween(long userId, long fromMillis, long toMillis, long afterId, int limit);
+
+    // 지금까지 insert 한 내역을 디스크에 반영 (메모리 저장소는 할 일이 없다)
+    default void sync() {
+    }
 }
@@ -3,24 +3,53 @@ package io.hhplus.tdd.point.repository;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.point.PointHistory;
 import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.metrics.PointMetrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 @RequiredArgsConstructor
 public class PointHistoryRepositoryImpl implements  PointHistoryRepository{
 
     private final PointHistoryTable pointHistoryTable;
+    private final PointMetrics pointMetrics;
+
+    // 유저별 내역 인덱스 (테이블 전체를 스캔하지 않기 위함)
+    private final Map<Long, PointHistorySegment> segments = new ConcurrentHashMap<>();
+
+    // PointHistoryTable 은 여러 스레드에서 불리면 id 가 겹치거나 순서가 뒤바뀔 수 있으므로 id 는 여기서 매긴다
+    private final AtomicLong cursor = new AtomicLong();
 
     @Override
     public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
-        return pointHistoryTable.insert(userId, amount, type, updateMillis);
+        PointHistorySegment segment = segments.computeIfAbsent(userId, k -> new PointHistorySegment());
+        return segment.append(() -> {
+            pointMetrics.timeHistoryInsert(() -> pointHistoryTable.insert(userId, amount, type, updateMillis));
+            // 유저 세그먼트 락 안에서 테이블 저장이 끝난 뒤에 매기므로 유저별로 항상 오름차순이다
+            return new PointHistory(cursor.incrementAndGet(), userId, amount, type, updateMillis);
+        });
     }
 
     @Override
     public List<PointHistory> selectAllByUserId(long userId) {
-        return pointHistoryTable.selectAllByUserId(userId);
+        PointHistorySegment segment = segments.get(userId);
+        return segment == null ? List.of() : pointMetrics.timeHistorySelect(segment::all);
+    }
+
+    @Override
+    public List<PointHistory> selectByUserIdAfter(long userId, long afterId, int limit) {
+        PointHistorySegment segment = segments.get(userId);
+        return segment == null ? List.of() : segment.after(afterId, limit);
+    }
+
+    @Override
+    public List<PointHistory> selectByUserIdBetween(long userId, long fromMillis, long toMillis, long afterId, int limit) {
+        PointHistorySegment segment = segments.get(userId);
+        return segment == null ? List.of() : segment.between(fromMillis, toMillis, afterId, limit);
     }
 }
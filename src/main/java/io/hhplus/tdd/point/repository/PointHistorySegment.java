@@ -0,0 +1,114 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 유저 한 명의 포인트 내역을 id 순서대로 보관하는 append-only 세그먼트
+ * - 쓰기는 락으로 직렬화하고, 읽기는 락 없이 현재까지 추가된 내역을 본다.
+ * - 배열은 늘어날 때만 복사되고 기존 원소는 바뀌지 않으므로 조회 결과는 복사 없이 감싸서 반환한다.
+ */
+class PointHistorySegment {
+
+    private final Lock writeLock = new ReentrantLock();
+    private volatile PointHistory[] entries = new PointHistory[8];
+    private volatile int size;
+
+    PointHistory append(Supplier<PointHistory> inserter) {
+        writeLock.lock();
+        try {
+            // 테이블 저장과 추가를 같은 락 안에서 해야 id 순서가 유지된다
+            PointHistory pointHistory = inserter.get();
+            PointHistory[] current = entries;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[size] = pointHistory;
+            entries = current;
+            size = size + 1;
+            return pointHistory;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    List<PointHistory> all() {
+        int count = size;
+        return new View(entries, 0, count);
+    }
+
+    /**
+     * afterId 보다 큰 id 의 내역을 최대 limit 개까지 반환한다.
+     */
+    List<PointHistory> after(long afterId, int limit) {
+        int count = size;
+        PointHistory[] snapshot = entries;
+        int from = firstIndexAfter(snapshot, count, afterId);
+        return new View(snapshot, from, (int) Math.min((long) from + limit, count));
+    }
+
+    /**
+     * afterId 이후 내역 중 updateMillis 가 [fromMillis, toMillis] 인 내역을 최대 limit 개까지 반환한다.
+     * 페이지가 채워지면 나머지는 보지 않는다.
+     */
+    List<PointHistory> between(long fromMillis, long toMillis, long afterId, int limit) {
+        int count = size;
+        PointHistory[] snapshot = entries;
+        List<PointHistory> page = new ArrayList<>(Math.min(limit, count));
+        for (int i = firstIndexAfter(snapshot, count, afterId); i < count && page.size() < limit; i++) {
+            long updateMillis = snapshot[i].updateMillis();
+            if (updateMillis >= fromMillis && updateMillis <= toMillis) {
+                page.add(snapshot[i]);
+            }
+        }
+        return page;
+    }
+
+    // id 는 세그먼트 안에서 오름차순이므로 이진 탐색으로 시작 위치를 찾는다
+    private static int firstIndexAfter(PointHistory[] snapshot, int count, long afterId) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (snapshot[mid].id() <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class View extends AbstractList<PointHistory> implements RandomAccess {
+        private final PointHistory[] entries;
+        private final int from;
+        private final int to;
+
+        private View(PointHistory[] entries, int from, int to) {
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public PointHistory get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return entries[from + index];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
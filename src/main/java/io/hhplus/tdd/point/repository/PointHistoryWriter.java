@@ -0,0 +1,241 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 포인트 내역을 큐에 쌓아두고 백그라운드에서 모아서 저장하는 group commit 단계
+ * - 같은 유저의 내역은 항상 같은 committer 가 처리하므로 유저별 순서가 보장된다.
+ * - 한 배치 안에서 다른 유저의 내역은 병렬로 저장하므로, 한 건씩 느린 저장소에서도 처리량이 committer 수에 묶이지 않는다.
+ * - ACK_AFTER_ENQUEUE : 큐에 들어가면 바로 응답 (빠르지만 저장 전 장애 시 유실 가능)
+ * - ACK_AFTER_COMMIT : 테이블에 저장된 뒤 응답
+ * - 배치를 저장한 뒤 repository 의 sync() 를 한 번만 불러서 디스크 반영 비용을 배치 단위로 나눈다.
+ * - 저장이 끝난 내역은 응답 전에 commit listener 에게 전달한다. (내역 요약 집계 등)
+ * - 종료된 뒤의 쓰기와 종료 시 큐에 남은 내역은 IllegalStateException 으로 실패시킨다.
+ */
+@Component
+public class PointHistoryWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryWriter.class);
+
+    public enum Durability {
+        ACK_AFTER_ENQUEUE, ACK_AFTER_COMMIT
+    }
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final Durability durability;
+    private final int batchSize;
+    private final List<BlockingQueue<PendingHistory>> queues = new ArrayList<>();
+    private final List<Thread> committers = new ArrayList<>();
+    private final List<Consumer<PointHistory>> commitListeners = new CopyOnWriteArrayList<>();
+    // 한 배치 안에서 여러 유저의 내역을 병렬로 저장한다
+    private final ExecutorService inserters = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean running = true;
+
+    public PointHistoryWriter(
+            PointHistoryRepository pointHistoryRepository,
+            @Value("${point.history.writer.durability:ack-after-commit}") Durability durability,
+            @Value("${point.history.writer.committers:4}") int committerCount,
+            @Value("${point.history.writer.queue-capacity:10000}") int queueCapacity,
+            @Value("${point.history.writer.batch-size:100}") int batchSize
+    ) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.durability = durability;
+        this.batchSize = batchSize;
+
+        for (int i = 0; i < committerCount; i++) {
+            BlockingQueue<PendingHistory> queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity / committerCount));
+            Thread committer = new Thread(() -> commitLoop(queue), "point-history-committer-" + i);
+            committer.setDaemon(true);
+            committer.start();
+            queues.add(queue);
+            committers.add(committer);
+        }
+    }
+
+    /**
+     * 내역을 저장 큐에 넣는다. 큐가 가득 차 있으면 자리가 날 때까지 기다린다.
+     * 반환된 future 는 테이블에 저장되면 완료되고, 이미 종료되었으면 실패한 future 를 반환한다.
+     */
+    public CompletableFuture<PointHistory> write(long userId, long amount, TransactionType type, long updateMillis) {
+        PendingHistory pending = new PendingHistory(userId, amount, type, updateMillis, new CompletableFuture<>());
+        BlockingQueue<PendingHistory> queue = queues.get(Math.floorMod(Long.hashCode(userId), queues.size()));
+        try {
+            while (!queue.offer(pending, 100, TimeUnit.MILLISECONDS)) {
+                if (!running) {
+                    pending.committed().completeExceptionally(stopped());
+                    return pending.committed();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.committed().completeExceptionally(e);
+            return pending.committed();
+        }
+
+        // 넣는 사이에 종료되었으면 committer 가 가져가지 못했을 수 있으므로 직접 꺼내서 실패시킨다
+        if (!running && queue.remove(pending)) {
+            pending.committed().completeExceptionally(stopped());
+        }
+        return pending.committed();
+    }
+
+    /**
+     * 설정된 내구성 모드에 맞게 응답 전에 기다린다.
+     * 락을 풀고 나서 호출해도 유저별 순서는 큐에 들어간 순서로 보장된다.
+     */
+    public void await(CompletableFuture<?> committed) {
+        if (durability == Durability.ACK_AFTER_COMMIT) {
+            try {
+                committed.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+    }
+
+    /**
+     * 설정된 내구성 모드에서 응답해도 되는 시점에 완료되는 future 를 반환한다.
+     */
+    public CompletableFuture<?> acknowledgement(CompletableFuture<PointHistory> committed) {
+        return durability == Durability.ACK_AFTER_COMMIT ? committed : CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * 저장된 내역을 받을 listener 를 등록한다. committer 스레드에서 유저별 저장 순서대로 호출된다.
+     */
+    public void addCommitListener(Consumer<PointHistory> listener) {
+        commitListeners.add(listener);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Thread committer : committers) {
+            committer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        inserters.shutdown();
+
+        // committer 가 끝난 뒤 남은 내역은 저장되지 않으므로 기다리는 쪽이 멈추지 않게 실패시킨다
+        List<PendingHistory> remaining = new ArrayList<>();
+        queues.forEach(queue -> queue.drainTo(remaining));
+        if (!remaining.isEmpty()) {
+            log.error("종료 전에 저장하지 못한 포인트 내역이 있습니다. count={}", remaining.size());
+        }
+        remaining.forEach(pending -> pending.committed().completeExceptionally(stopped()));
+    }
+
+    private void commitLoop(BlockingQueue<PendingHistory> queue) {
+        List<PendingHistory> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingHistory first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingHistory> batch) {
+        // 한 건씩 저장하는 비용이 큰 저장소(PointHistoryTable)에서도 처리량이 committer 수에 묶이지 않도록
+        // 다른 유저의 내역은 병렬로 저장하고, 같은 유저의 내역은 넣은 순서대로 저장한다
+        Map<Long, List<PendingHistory>> batchByUser = new LinkedHashMap<>();
+        for (PendingHistory pending : batch) {
+            batchByUser.computeIfAbsent(pending.userId(), k -> new ArrayList<>()).add(pending);
+        }
+
+        List<InsertedHistory> inserted = new ArrayList<>(batch.size());
+        if (batchByUser.size() == 1) {
+            inserted.addAll(insertAll(batch));
+        } else {
+            List<CompletableFuture<List<InsertedHistory>>> insertions = batchByUser.values().stream()
+                    .map(userBatch -> CompletableFuture.supplyAsync(() -> insertAll(userBatch), inserters))
+                    .toList();
+            insertions.forEach(insertion -> inserted.addAll(insertion.join()));
+        }
+        if (inserted.isEmpty()) {
+            return;
+        }
+
+        try {
+            pointHistoryRepository.sync();
+        } catch (RuntimeException e) {
+            log.error("포인트 내역을 디스크에 반영하지 못했습니다. count={}", inserted.size(), e);
+            inserted.forEach(each -> each.pending().committed().completeExceptionally(e));
+            return;
+        }
+        for (InsertedHistory each : inserted) {
+            notifyCommitted(each.saved());
+            each.pending().committed().complete(each.saved());
+        }
+    }
+
+    // 같은 유저의 내역을 순서대로 저장한다. 저장에 실패한 내역만 실패시키고 나머지는 계속 저장한다
+    private List<InsertedHistory> insertAll(List<PendingHistory> userBatch) {
+        List<InsertedHistory> inserted = new ArrayList<>(userBatch.size());
+        for (PendingHistory pending : userBatch) {
+            try {
+                inserted.add(new InsertedHistory(pending,
+                        pointHistoryRepository.insert(pending.userId(), pending.amount(), pending.type(), pending.updateMillis())));
+            } catch (RuntimeException e) {
+                log.error("포인트 내역을 저장하지 못했습니다. userId={}", pending.userId(), e);
+                pending.committed().completeExceptionally(e);
+            }
+        }
+        return inserted;
+    }
+
+    private void notifyCommitted(PointHistory history) {
+        for (Consumer<PointHistory> listener : commitListeners) {
+            try {
+                listener.accept(history);
+            } catch (RuntimeException e) {
+                log.error("저장된 포인트 내역을 전달하지 못했습니다. id={}", history.id(), e);
+            }
+        }
+    }
+
+    private static IllegalStateException stopped() {
+        return new IllegalStateException("포인트 내역 저장이 종료되었습니다.");
+    }
+
+    private record PendingHistory(
+            long userId,
+            long amount,
+            TransactionType type,
+            long updateMillis,
+            CompletableFuture<PointHistory> committed
+    ) {
+    }
+
+    private record InsertedHistory(PendingHistory pending, PointHistory saved) {
+    }
+}
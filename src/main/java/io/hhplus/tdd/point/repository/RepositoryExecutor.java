@@ -0,0 +1,50 @@
+package io.hhplus.tdd.point.repository;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 비동기 저장소 어댑터가 기존 동기 저장소를 호출하는 전용 실행기
+ * - 스레드 수가 곧 저장소에 동시에 들어가는 호출 수의 상한이다. (DB 커넥션 풀과 같은 역할)
+ * - 대기열이 가득 차면 호출한 스레드가 직접 실행해서 더 받지 않고 속도를 늦춘다.
+ */
+@Component
+public class RepositoryExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    public RepositoryExecutor(
+            @Value("${point.repository.async.threads:64}") int threads,
+            @Value("${point.repository.async.queue-capacity:10000}") int queueCapacity
+    ) {
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "point-repository-" + sequence.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
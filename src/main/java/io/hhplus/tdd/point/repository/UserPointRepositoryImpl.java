@@ -2,6 +2,7 @@ package io.hhplus.tdd.point.repository;
 
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.metrics.PointMetrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -10,14 +11,15 @@ import org.springframework.stereotype.Component;
 public class UserPointRepositoryImpl implements UserPointRepository{
 
     private final UserPointTable userPointTable;
+    private final PointMetrics pointMetrics;
 
     @Override
     public UserPoint selectById(Long id) {
-        return userPointTable.selectById(id);
+        return pointMetrics.timeUserPointSelect(() -> userPointTable.selectById(id));
     }
 
     @Override
     public UserPoint insertOrUpdate(long id, long amount) {
-        return userPointTable.insertOrUpdate(id,amount);
+        return pointMetrics.timeUserPointInsertOrUpdate(() -> userPointTable.insertOrUpdate(id,amount));
     }
 }
@@ -0,0 +1,171 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.wal.PointSnapshotter;
+import io.hhplus.tdd.point.wal.PointWriteAheadLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * WAL 에 내역을 기록하는 PointHistoryRepository (point.storage.type=wal)
+ * - insert 는 로그에 추가만 하고, 디스크 반영은 sync() 에서 한 번에 한다.
+ * - 스냅샷에 남아 있는 유저별 내역 id 를 받아서, 그 이전 내역은 조회할 때 WAL 에서 id 로 바로 읽는다.
+ * - 스냅샷 이후 내역의 인덱스는 시작 후 백그라운드에서 WAL 꼬리만 재생해서 만든다. 그동안 insert 는 로그에만 추가되고
+ *   인덱스가 따라잡으면서 함께 반영되며, 조회는 인덱스가 완성될 때까지 기다린다.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(name = "point.storage.type", havingValue = "wal")
+public class WalPointHistoryRepository implements PointHistoryRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(WalPointHistoryRepository.class);
+
+    private final PointWriteAheadLog writeAheadLog;
+    private final PointMetrics pointMetrics;
+    // 스냅샷에 들어 있던 유저별 내역 id (시작할 때 채운 뒤 바뀌지 않는다)
+    private final Map<Long, long[]> snapshotIds = new HashMap<>();
+    private final Map<Long, PointHistorySegment> segments = new ConcurrentHashMap<>();
+    private final ReadWriteLock indexLock = new ReentrantReadWriteLock();
+    private final CompletableFuture<Void> indexed = new CompletableFuture<>();
+    private volatile boolean ready;
+    private long indexedId;
+
+    public WalPointHistoryRepository(PointWriteAheadLog writeAheadLog, PointSnapshotter snapshotter, PointMetrics pointMetrics) {
+        this.writeAheadLog = writeAheadLog;
+        this.pointMetrics = pointMetrics;
+        this.indexedId = snapshotter.historyIds(snapshotIds::put);
+        Thread indexer = new Thread(this::buildIndex, "point-history-indexer");
+        indexer.setDaemon(true);
+        indexer.start();
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        indexLock.readLock().lock();
+        try {
+            if (!ready) {
+                return pointMetrics.timeHistoryInsert(() -> writeAheadLog.append(userId, amount, type, updateMillis));
+            }
+            return segment(userId).append(() -> pointMetrics.timeHistoryInsert(() -> writeAheadLog.append(userId, amount, type, updateMillis)));
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void sync() {
+        writeAheadLog.sync();
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        PointHistorySegment segment = indexedSegment(userId);
+        if (!hasSnapshotIdsAfter(userId, 0L)) {
+            return segment == null ? List.of() : pointMetrics.timeHistorySelect(segment::all);
+        }
+        return pointMetrics.timeHistorySelect(() -> select(userId, segment, Long.MIN_VALUE, Long.MAX_VALUE, 0L, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public List<PointHistory> selectByUserIdAfter(long userId, long afterId, int limit) {
+        PointHistorySegment segment = indexedSegment(userId);
+        if (!hasSnapshotIdsAfter(userId, afterId)) {
+            return segment == null ? List.of() : segment.after(afterId, limit);
+        }
+        return select(userId, segment, Long.MIN_VALUE, Long.MAX_VALUE, afterId, limit);
+    }
+
+    @Override
+    public List<PointHistory> selectByUserIdBetween(long userId, long fromMillis, long toMillis, long afterId, int limit) {
+        PointHistorySegment segment = indexedSegment(userId);
+        if (!hasSnapshotIdsAfter(userId, afterId)) {
+            return segment == null ? List.of() : segment.between(fromMillis, toMillis, afterId, limit);
+        }
+        return select(userId, segment, fromMillis, toMillis, afterId, limit);
+    }
+
+    private boolean hasSnapshotIdsAfter(long userId, long afterId) {
+        long[] ids = snapshotIds.get(userId);
+        return ids != null && ids.length > 0 && ids[ids.length - 1] > afterId;
+    }
+
+    // 스냅샷 이전 내역은 WAL 에서 id 로 읽고, 페이지가 덜 찼으면 스냅샷 이후 내역을 이어 붙인다
+    private List<PointHistory> select(long userId, PointHistorySegment segment, long fromMillis, long toMillis, long afterId, int limit) {
+        long[] ids = snapshotIds.get(userId);
+        List<PointHistory> page = new ArrayList<>(Math.min(limit, ids.length));
+        for (int i = firstIndexAfter(ids, afterId); i < ids.length && page.size() < limit; i++) {
+            PointHistory pointHistory = writeAheadLog.read(ids[i]);
+            if (pointHistory.updateMillis() >= fromMillis && pointHistory.updateMillis() <= toMillis) {
+                page.add(pointHistory);
+            }
+        }
+        if (segment != null && page.size() < limit) {
+            page.addAll(segment.between(fromMillis, toMillis, afterId, limit - page.size()));
+        }
+        return page;
+    }
+
+    private static int firstIndexAfter(long[] ids, long afterId) {
+        int index = Arrays.binarySearch(ids, afterId);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private void buildIndex() {
+        try {
+            // 따라잡는 동안에는 insert 를 막지 않고, 새로 추가된 내역이 없을 때만 잠깐 막고 마무리한다
+            long before;
+            do {
+                before = indexedId;
+                writeAheadLog.replay(indexedId, this::index);
+            } while (indexedId != before);
+
+            indexLock.writeLock().lock();
+            try {
+                writeAheadLog.replay(indexedId, this::index);
+                ready = true;
+            } finally {
+                indexLock.writeLock().unlock();
+            }
+            indexed.complete(null);
+        } catch (RuntimeException e) {
+            log.error("포인트 내역 인덱스를 만들지 못했습니다.", e);
+            indexed.completeExceptionally(e);
+        }
+    }
+
+    private void index(PointHistory pointHistory) {
+        segment(pointHistory.userId()).append(() -> pointHistory);
+        indexedId = pointHistory.id();
+    }
+
+    private PointHistorySegment indexedSegment(long userId) {
+        if (!ready) {
+            try {
+                indexed.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        return segments.get(userId);
+    }
+
+    private PointHistorySegment segment(long userId) {
+        return segments.computeIfAbsent(userId, k -> new PointHistorySegment());
+    }
+}
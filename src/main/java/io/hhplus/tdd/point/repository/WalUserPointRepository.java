@@ -0,0 +1,44 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.wal.PointSnapshotter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WAL 을 기준으로 잔고를 관리하는 UserPointRepository (point.storage.type=wal)
+ * - 잔고는 내역의 합이므로 따로 기록하지 않고, 시작할 때 최근 스냅샷과 그 이후의 WAL 꼬리로 다시 계산한다.
+ * - 내역이 WAL 에 반영되기 전에 장애가 나면 그 변경은 잔고에서도 사라진다. 이미 응답한 변경이 사라질 수 있는지는 설정에 따라 다르다.
+ *   - durability=ack-after-commit, fsync-interval-ms=0 : fsync 후에 응답하므로 응답하지 않은 요청만 사라진다.
+ *   - durability=ack-after-enqueue : 내역이 큐에 들어가면 응답하므로, 프로세스만 죽어도 아직 WAL 에 쓰지 않은 응답한 변경이 사라진다.
+ *   - fsync-interval-ms > 0 : WAL 에 쓴 뒤 fsync 를 기다리지 않고 응답한다. 프로세스만 죽으면 남지만(메모리 매핑 파일)
+ *     OS 장애나 전원이 나가면 마지막 fsync 이후 최대 fsync 주기만큼의 응답한 변경이 사라진다.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(name = "point.storage.type", havingValue = "wal")
+public class WalUserPointRepository implements UserPointRepository {
+
+    private final Map<Long, UserPoint> balances = new ConcurrentHashMap<>();
+
+    public WalUserPointRepository(PointSnapshotter snapshotter) {
+        balances.putAll(snapshotter.balances());
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+        UserPoint userPoint = balances.get(id);
+        return userPoint != null ? userPoint : UserPoint.empty(id);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        balances.put(id, userPoint);
+        return userPoint;
+    }
+}
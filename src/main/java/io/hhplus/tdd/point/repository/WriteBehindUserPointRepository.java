@@ -0,0 +1,189 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.UserPoint;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * UserPointTable 앞단의 write-behind 캐시
+ * - 메모리의 잔고를 기준 값으로 사용하고, 테이블에는 비동기로 반영한다.
+ * - 반영 전 같은 유저의 변경은 하나의 쓰기로 합쳐진다.
+ * - dirty 큐가 가득 차면 호출 스레드가 직접 테이블에 반영한다.
+ * - 테이블 반영에 실패한 유저는 반영 대기로 남겨 다음 주기에 다시 반영한다. 반영 대기 표시는 기록한 값이 그대로일 때만 지운다.
+ * - 캐시가 max-entries 를 넘으면 반영이 끝난 유저부터 캐시에서 지운다. 반영 중인 유저는 지우지 않는다.
+ * - WAL 저장소는 잔고를 이미 메모리에 두므로 테이블 저장소(point.storage.type=memory)에서만 사용한다.
+ */
+@Primary
+@Component
+@ConditionalOnExpression("${point.user-point.write-behind.enabled:true} and '${point.storage.type:memory}' == 'memory'")
+public class WriteBehindUserPointRepository implements UserPointRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindUserPointRepository.class);
+
+    private static final int FLUSH_LOCK_STRIPES = 64;
+
+    private final UserPointRepository delegate;
+    private final Map<Long, UserPoint> cache = new ConcurrentHashMap<>();
+    // 아직 테이블에 반영되지 않은 최신 값. 테이블 쓰기가 성공한 뒤에 그 값일 때만 지운다
+    private final Map<Long, UserPoint> unflushed = new ConcurrentHashMap<>();
+    private final BlockingQueue<Long> dirtyQueue;
+    // 큐 자리와 상관없이 다음 주기에 다시 반영할 유저 (반영 실패, 반영 중 새 값이 들어온 경우)
+    private final Set<Long> retryIds = ConcurrentHashMap.newKeySet();
+    private final Lock[] flushLocks = new Lock[FLUSH_LOCK_STRIPES];
+    private final int maxEntries;
+    // 캐시에서 지운 횟수. 테이블을 읽는 사이에 지워졌으면 읽은 값이 오래되었을 수 있다
+    private final AtomicLong evictions = new AtomicLong();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-point-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public WriteBehindUserPointRepository(
+            UserPointRepositoryImpl delegate,
+            @Value("${point.user-point.write-behind.queue-capacity:10000}") int queueCapacity,
+            @Value("${point.user-point.write-behind.flush-interval-ms:100}") long flushIntervalMillis,
+            @Value("${point.user-point.write-behind.max-entries:100000}") int maxEntries
+    ) {
+        this.delegate = delegate;
+        this.dirtyQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxEntries = maxEntries;
+        for (int i = 0; i < flushLocks.length; i++) {
+            flushLocks[i] = new ReentrantLock();
+        }
+        flusher.scheduleWithFixedDelay(this::flushDirty, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+        while (true) {
+            UserPoint cached = cache.get(id);
+            if (cached != null) {
+                return cached;
+            }
+
+            // 캐시에 없는 유저는 반영 대기 중인 변경도 없으므로 테이블 값을 그대로 사용
+            // 읽는 사이에 다른 변경이 반영되고 캐시에서 지워졌으면 다시 읽는다
+            long evicted = evictions.get();
+            UserPoint loaded = delegate.selectById(id);
+            UserPoint current = cache.compute(id, (key, existing) -> existing != null || evictions.get() != evicted ? existing : loaded);
+            if (current != null) {
+                return current;
+            }
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+
+        // 캐시 갱신과 반영 대기 표시를 한 번에 해야 그 사이에 캐시에서 지워지지 않는다
+        boolean[] newlyDirty = new boolean[1];
+        cache.compute(id, (key, previous) -> {
+            newlyDirty[0] = unflushed.put(key, userPoint) == null;
+            return userPoint;
+        });
+
+        // 이미 반영 대기 중이면 큐에 다시 넣지 않는다 (쓰기 합치기, 반영 중이면 그 반영이 이어서 기록한다)
+        if (newlyDirty[0] && !dirtyQueue.offer(id)) {
+            try {
+                flush(id);
+            } catch (RuntimeException e) {
+                // 캐시에는 반영되었고 다음 주기에 다시 테이블에 반영한다
+                log.error("포인트 잔고를 테이블에 반영하지 못했습니다. userId={}", id, e);
+            }
+        }
+        return userPoint;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flushDirty();
+    }
+
+    private void flushDirty() {
+        Long id;
+        while ((id = dirtyQueue.poll()) != null) {
+            flushQuietly(id);
+        }
+
+        for (Long retryId : retryIds) {
+            if (retryIds.remove(retryId)) {
+                flushQuietly(retryId);
+            }
+        }
+        evictClean();
+    }
+
+    private void flushQuietly(long id) {
+        try {
+            flush(id);
+        } catch (RuntimeException e) {
+            log.error("포인트 잔고를 테이블에 반영하지 못했습니다. userId={}", id, e);
+        }
+    }
+
+    private void flush(long id) {
+        // 같은 유저의 반영은 한 번에 하나만 한다 (늦게 읽은 최신 값이 항상 마지막에 기록된다, 다른 유저끼리는 기다리지 않는다)
+        Lock flushLock = flushLocks[Math.floorMod(Long.hashCode(id), flushLocks.length)];
+        flushLock.lock();
+        try {
+            UserPoint pending = unflushed.get(id);
+            if (pending == null) {
+                return;
+            }
+
+            try {
+                delegate.insertOrUpdate(id, pending.point());
+            } catch (RuntimeException e) {
+                retryIds.add(id);
+                throw e;
+            }
+
+            // 기록한 값일 때만 반영 완료로 표시한다. 그 사이에 새 값이 들어왔으면 다음 주기에 그 값을 기록한다
+            if (!unflushed.remove(id, pending)) {
+                retryIds.add(id);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 캐시가 max-entries 를 넘으면 반영이 끝난 유저를 지운다 (반영 대기/반영 중인 유저는 기록될 때까지 남긴다)
+    private void evictClean() {
+        if (cache.size() <= maxEntries) {
+            return;
+        }
+        for (Long id : cache.keySet()) {
+            if (cache.size() <= maxEntries) {
+                return;
+            }
+            cache.computeIfPresent(id, (key, cached) -> {
+                if (unflushed.containsKey(key)) {
+                    return cached;
+                }
+                evictions.incrementAndGet();
+                return null;
+            });
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointCommandResult;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.PointTransferResult;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.lock.UserLockRegistry;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.AsyncPointHistoryRepository;
+import io.hhplus.tdd.point.repository.AsyncUserPointRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryWriter;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * 락 대신 CAS 로 잔고를 변경하는 PointService (point.concurrency.mode=cas)
+ * - 유저별 잔고를 메모리의 AtomicReference 로 관리하고, 검증 후 compareAndSet 이 실패하면 다시 시도한다.
+ * - 잔고 저장은 요청과 분리되어 백그라운드에서 유저별 최신 값만 반영한다.
+ * - 동시에 들어온 요청의 내역 저장 순서는 잔고 변경 순서와 다를 수 있다.
+ * - 메모리에 두는 유저는 MAX_CACHED_BALANCES 명까지이고, 넘으면 저장 주기마다 저장이 끝난 유저부터 지운다.
+ */
+@Service
+@ConditionalOnProperty(name = "point.concurrency.mode", havingValue = "cas")
+public class CasPointService extends PointService {
+
+    private static final Logger log = LoggerFactory.getLogger(CasPointService.class);
+
+    // 지워진 계정을 나타내는 값 (참조로만 비교한다)
+    private static final UserPoint RETIRED = new UserPoint(-1L, 0L, 0L);
+
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final Map<Long, Account> accounts = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyIds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong evictions = new AtomicLong();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cas-point-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CasPointService(
+            UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository,
+            AsyncUserPointRepository asyncUserPointRepository,
+            AsyncPointHistoryRepository asyncPointHistoryRepository,
+            PointHistoryWriter pointHistoryWriter,
+            UserLockRegistry userLockRegistry,
+            PointMetrics pointMetrics,
+            @Value("${point.concurrency.cas.flush-interval-ms:100}") long flushIntervalMillis
+    ) {
+        super(userPointRepository, pointHistoryRepository, asyncUserPointRepository, asyncPointHistoryRepository,
+                pointHistoryWriter, userLockRegistry, pointMetrics);
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryWriter = pointHistoryWriter;
+        flusher.scheduleWithFixedDelay(this::flushAndEvict, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public UserPoint chargePoint(long userId, long amount) {
+        UserPoint updatedUserPoint = update(userId, balance -> chargedBalance(balance, amount));
+        pointHistoryWriter.await(pointHistoryWriter.write(userId, amount, TransactionType.CHARGE, updatedUserPoint.updateMillis()));
+        return updatedUserPoint;
+    }
+
+    @Override
+    public UserPoint usePoint(long userId, long amount) {
+        UserPoint updatedUserPoint = update(userId, balance -> usedBalance(balance, amount));
+        pointHistoryWriter.await(pointHistoryWriter.write(userId, amount, TransactionType.USE, updatedUserPoint.updateMillis()));
+        return updatedUserPoint;
+    }
+
+    /**
+     * 두 유저의 잔고를 함께 바꾸는 이체는 유저 락 모드(point.concurrency.mode=lock)에서만 지원한다.
+     */
+    @Override
+    public PointTransferResult transfer(long fromUserId, long toUserId, long amount) {
+        throw rejected("unsupported_mode", "현재 동시성 모드에서는 이체를 지원하지 않습니다.");
+    }
+
+    @Override
+    public List<PointCommandResult> execute(List<PointCommand> commands) {
+        checkBulkSize(commands);
+        List<PointCommandResult> results = new ArrayList<>(commands.size());
+        List<CompletableFuture<PointHistory>> histories = new ArrayList<>();
+        for (PointCommand command : commands) {
+            try {
+                UserPoint updatedUserPoint = update(command.userId(), balance -> appliedBalance(balance, command));
+                histories.add(pointHistoryWriter.write(command.userId(), command.amount(), command.type(), updatedUserPoint.updateMillis()));
+                results.add(PointCommandResult.success(command, updatedUserPoint.point()));
+            } catch (PointException e) {
+                results.add(PointCommandResult.failure(command, e.getMessage()));
+            }
+        }
+        histories.forEach(pointHistoryWriter::await);
+        return results;
+    }
+
+    @Override
+    public UserPoint getPoint(long userId) {
+        while (true) {
+            UserPoint current = account(userId).value.get();
+            if (current != RETIRED) {
+                return current;
+            }
+        }
+    }
+
+    @Override
+    @PreDestroy
+    public void shutdown() {
+        super.shutdown();
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushDirty();
+    }
+
+    private UserPoint update(long userId, LongUnaryOperator balanceFunction) {
+        while (true) {
+            AtomicReference<UserPoint> value = account(userId).value;
+            UserPoint current = value.get();
+            // 지워진 계정이면 다시 등록된 계정으로 시도한다
+            if (current == RETIRED) {
+                continue;
+            }
+            long updateAmount = balanceFunction.applyAsLong(current.point());
+            UserPoint updated = new UserPoint(userId, updateAmount, System.currentTimeMillis());
+            if (value.compareAndSet(current, updated)) {
+                dirtyIds.add(userId);
+                return updated;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private Account account(long userId) {
+        while (true) {
+            Account account = accounts.get(userId);
+            if (account != null) {
+                return account;
+            }
+
+            // 조회가 느리므로 compute 밖에서 읽고, 먼저 등록된 계정이 있으면 그것을 사용한다
+            // 읽는 사이에 지워진 계정이 있으면 읽은 값이 그보다 오래됐을 수 있으므로 다시 읽는다
+            long evicted = evictions.get();
+            Account loaded = new Account(userPointRepository.selectById(userId));
+            Account current = accounts.compute(userId, (id, existing) ->
+                    existing != null || evictions.get() != evicted ? existing : loaded);
+            if (current != null) {
+                return current;
+            }
+        }
+    }
+
+    // 저장이 끝난 직후에 지워야 지울 수 있는 계정이 가장 많다
+    private void flushAndEvict() {
+        flushDirty();
+        evictIfFull();
+    }
+
+    // 저장이 끝난 값에서 바뀌지 않은 계정만 RETIRED 로 바꿔서 지운다
+    // 바꾼 뒤에는 그 계정에 대한 CAS 가 모두 실패하므로 지운 계정에 변경이 남지 않는다
+    private void evictIfFull() {
+        Iterator<Map.Entry<Long, Account>> iterator = accounts.entrySet().iterator();
+        while (accounts.size() > MAX_CACHED_BALANCES && iterator.hasNext()) {
+            Map.Entry<Long, Account> entry = iterator.next();
+            Account account = entry.getValue();
+            UserPoint current = account.value.get();
+            if (current != account.persisted) {
+                continue;
+            }
+            // 지우기 전에 늘려야 그 사이에 테이블을 읽은 조회가 오래된 값을 채우지 않는다
+            evictions.incrementAndGet();
+            if (account.value.compareAndSet(current, RETIRED)) {
+                accounts.remove(entry.getKey(), account);
+            }
+        }
+    }
+
+    // 저장은 flusher 스레드(종료 시에는 flusher 가 끝난 뒤의 한 스레드)에서만 한다
+    private void flushDirty() {
+        for (Long userId : dirtyIds) {
+            // 제거 후 최신 값을 읽어야 그 사이의 변경이 다음 주기에 다시 반영된다
+            dirtyIds.remove(userId);
+            Account account = accounts.get(userId);
+            if (account == null) {
+                continue;
+            }
+            UserPoint current = account.value.get();
+            if (current == RETIRED || current == account.persisted) {
+                continue;
+            }
+            try {
+                userPointRepository.insertOrUpdate(userId, current.point());
+                account.persisted = current;
+            } catch (RuntimeException e) {
+                // 다음 주기에 다시 저장하고, 다른 유저의 저장은 계속한다
+                dirtyIds.add(userId);
+                log.error("포인트 잔고를 저장하지 못했습니다. userId={}", userId, e);
+            }
+        }
+    }
+
+    private static final class Account {
+        private final AtomicReference<UserPoint> value;
+        // 테이블에 마지막으로 저장된 값. 현재 값과 같으면 지워도 잃는 변경이 없다
+        private volatile UserPoint persisted;
+
+        private Account(UserPoint loaded) {
+            this.value = new AtomicReference<>(loaded);
+            this.persisted = loaded;
+        }
+    }
+}
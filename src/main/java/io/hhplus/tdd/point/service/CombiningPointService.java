@@ -0,0 +1,184 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.lock.UserLockRegistry;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.AsyncPointHistoryRepository;
+import io.hhplus.tdd.point.repository.AsyncUserPointRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryWriter;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 같은 유저에게 동시에 들어온 충전/사용을 합쳐서 처리하는 PointService (point.concurrency.mode=combine)
+ * - 요청은 유저별 대기열에 들어가고, 유저 락을 잡은 스레드 하나가 대기열의 요청을 순서대로 적용한다.
+ * - 요청마다 최대 잔고/잔액을 검증하므로 실패한 요청만 PointException 을 받고 나머지는 그대로 반영된다.
+ * - 잔고 조회와 저장은 합친 요청 전체에 한 번씩만 하고, 내역은 PointHistoryWriter 가 묶어서 저장한다.
+ * - 요청마다 자기 순서까지 적용된 잔고를 응답으로 받는다.
+ * 이체와 일괄 처리는 같은 유저 락을 잡으므로 합쳐서 처리하는 중간에 끼어들지 않는다.
+ */
+@Service
+@ConditionalOnProperty(name = "point.concurrency.mode", havingValue = "combine")
+public class CombiningPointService extends PointService {
+
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointMetrics pointMetrics;
+    private final int maxBatch;
+    private final Map<Long, Combiner> combiners = new ConcurrentHashMap<>();
+
+    // 자기 요청이 끝난 스레드가 남은 요청을 넘겨 처리하게 한다
+    private final ExecutorService handoffExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public CombiningPointService(
+            UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository,
+            AsyncUserPointRepository asyncUserPointRepository,
+            AsyncPointHistoryRepository asyncPointHistoryRepository,
+            PointHistoryWriter pointHistoryWriter,
+            UserLockRegistry userLockRegistry,
+            PointMetrics pointMetrics,
+            @Value("${point.concurrency.combine.max-batch:256}") int maxBatch
+    ) {
+        super(userPointRepository, pointHistoryRepository, asyncUserPointRepository, asyncPointHistoryRepository,
+                pointHistoryWriter, userLockRegistry, pointMetrics);
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointMetrics = pointMetrics;
+        this.maxBatch = Math.max(maxBatch, 1);
+    }
+
+    @Override
+    public UserPoint chargePoint(long userId, long amount) {
+        return submit(userId, TransactionType.CHARGE, amount);
+    }
+
+    @Override
+    public UserPoint usePoint(long userId, long amount) {
+        return submit(userId, TransactionType.USE, amount);
+    }
+
+    @Override
+    @PreDestroy
+    public void shutdown() {
+        super.shutdown();
+        handoffExecutor.shutdown();
+    }
+
+    private UserPoint submit(long userId, TransactionType type, long amount) {
+        Operation operation = new Operation(type, amount, new CompletableFuture<>());
+        Combiner combiner = combiners.computeIfAbsent(userId, id -> new Combiner());
+        combiner.pending().add(operation);
+        combine(userId, combiner, operation);
+
+        Mutation mutation = join(operation.result());
+        pointHistoryWriter.await(mutation.history());
+        return mutation.userPoint();
+    }
+
+    /**
+     * 아무도 합치고 있지 않으면 대기열을 맡아서 처리한다.
+     * 합치는 스레드는 끝낼 때 대기열을 다시 확인하므로, 그 사이에 들어온 요청도 누군가 반드시 처리한다.
+     */
+    private void combine(long userId, Combiner combiner, Operation own) {
+        while (!combiner.pending().isEmpty() && combiner.combining().compareAndSet(false, true)) {
+            try {
+                withUserLock(userId, () -> {
+                    applyPending(userId, combiner);
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                // 락을 얻지 못했거나 잔고를 읽지 못했으면 같이 기다리던 요청도 모두 같은 예외로 실패시킨다
+                failPending(combiner, e);
+            } finally {
+                combiner.combining().set(false);
+            }
+
+            if (own != null && own.result().isDone() && !combiner.pending().isEmpty()) {
+                handoffExecutor.execute(() -> combine(userId, combiner, null));
+                return;
+            }
+        }
+
+        // 비어 있는 대기열은 지운다 (지운 뒤에 들어온 요청은 그 요청의 스레드가 직접 처리한다)
+        if (combiner.pending().isEmpty()) {
+            combiners.remove(userId, combiner);
+        }
+    }
+
+    // 유저 락 안에서 대기열의 요청을 최대 max-batch 개까지 적용하고 잔고를 한 번만 저장한다
+    private void applyPending(long userId, Combiner combiner) {
+        long balance = userPointRepository.selectById(userId).point();
+        List<Operation> applied = new ArrayList<>();
+        List<Long> appliedBalances = new ArrayList<>();
+
+        Operation operation;
+        for (int i = 0; i < maxBatch && (operation = combiner.pending().poll()) != null; i++) {
+            try {
+                balance = operation.type() == TransactionType.CHARGE
+                        ? chargedBalance(balance, operation.amount())
+                        : usedBalance(balance, operation.amount());
+                applied.add(operation);
+                appliedBalances.add(balance);
+            } catch (PointException e) {
+                operation.result().completeExceptionally(e);
+            }
+        }
+        if (applied.isEmpty()) {
+            return;
+        }
+
+        // 잔고 저장에 실패하면 내역을 남기지 않는다
+        UserPoint updatedUserPoint;
+        try {
+            updatedUserPoint = userPointRepository.insertOrUpdate(userId, balance);
+        } catch (RuntimeException e) {
+            applied.forEach(each -> each.result().completeExceptionally(e));
+            return;
+        }
+        cache(updatedUserPoint);
+        pointMetrics.recordCombinedBatch(applied.size());
+
+        for (int i = 0; i < applied.size(); i++) {
+            Operation each = applied.get(i);
+            CompletableFuture<PointHistory> history = pointHistoryWriter.write(userId, each.amount(), each.type(), updatedUserPoint.updateMillis());
+            UserPoint userPoint = new UserPoint(userId, appliedBalances.get(i), updatedUserPoint.updateMillis());
+            each.result().complete(new Mutation(userPoint, history));
+        }
+    }
+
+    private void failPending(Combiner combiner, RuntimeException e) {
+        Operation operation;
+        while ((operation = combiner.pending().poll()) != null) {
+            operation.result().completeExceptionally(e);
+        }
+    }
+
+    // 유저별 대기열과, 지금 대기열을 처리하는 스레드가 있는지 여부
+    private record Combiner(Queue<Operation> pending, AtomicBoolean combining) {
+        private Combiner() {
+            this(new ConcurrentLinkedQueue<>(), new AtomicBoolean());
+        }
+    }
+
+    private record Operation(TransactionType type, long amount, CompletableFuture<Mutation> result) {
+    }
+}
@@ -1,86 +1,509 @@
 package io.hhplus.tdd.point.service;
 
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointCommandResult;
 import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointTransferResult;
 import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.point.UserPoint;
 import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.exception.TooManyRequestsException;
+import io.hhplus.tdd.point.lock.UserLockRegistry;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.AsyncPointHistoryRepository;
+import io.hhplus.tdd.point.repository.AsyncUserPointRepository;
 import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryWriter;
 import io.hhplus.tdd.point.repository.UserPointRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
+/**
+ * 유저별 락으로 충전/사용을 순차 처리하는 PointService (point.concurrency.mode=lock, 기본값)
+ * 서로의 결과가 필요 없는 저장소 호출만 기다리지 않고 함께 시작한다.
+ * - 이체는 두 유저의 조회와 저장을 각각 동시에 한다.
+ * - 충전/사용은 조회 → 검증 → 잔고 저장 → 내역 저장이 모두 앞 단계의 결과를 쓰므로 락 안에서는 겹칠 단계가 없다.
+ *   (내역은 잔고 저장이 성공한 뒤에만 남겨야 한다) 대신 내역 저장은 락 밖에서 기다리므로 다음 요청의 잔고 저장과 겹친다.
+ */
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "point.concurrency.mode", havingValue = "lock", matchIfMissing = true)
 public class PointService {
 
     private final UserPointRepository userPointTable;
     private final PointHistoryRepository pointHistoryTable;
-    private final Map<Long, Lock> userLocks = new ConcurrentHashMap<>();
+    private final AsyncUserPointRepository asyncUserPointTable;
+    private final AsyncPointHistoryRepository asyncPointHistoryTable;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final UserLockRegistry userLockRegistry;
+    private final PointMetrics pointMetrics;
+
+    // 일괄 처리 시 유저별 작업을 병렬로 실행한다 (대부분 테이블 I/O 대기이므로 가상 스레드 사용)
+    private final ExecutorService batchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // 조회용 잔고. 변경이 성공할 때마다 락 안에서 갱신하므로 조회는 테이블을 거치지 않는다
+    // MAX_CACHED_BALANCES 를 넘으면 아무 유저나 지우고, 지워진 유저는 다음 조회 때 테이블에서 다시 읽는다
+    private final Map<Long, UserPoint> balances = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+    private final Lock evictLock = new ReentrantLock();
 
     private static final long MAX_BALANCE = 10000L;
     private static final long MINIMUM_AMOUNT = 0L;
 
-    private Lock getUserLock(long userId) {
-        return userLocks.computeIfAbsent(userId, k -> new ReentrantLock());
-    }
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public static final int MAX_BULK_SIZE = 1000;
+    // 조회용 잔고에 두는 최대 유저 수
+    public static final int MAX_CACHED_BALANCES = 100_000;
+    // 여러 유저 잔고 조회 시 동시에 테이블을 읽는 최대 개수
+    private static final int BULK_LOOKUP_CONCURRENCY = 16;
 
     public UserPoint chargePoint(long userId, long amount) {
-        Lock lock = getUserLock(userId);
-        lock.lock();
-        try {
-            UserPoint userPoint = userPointTable.selectById(userId);
-            long updateAmount = userPoint.point() + amount;
+        Mutation mutation = withUserLock(userId, () -> charge(userId, amount));
+        pointHistoryWriter.await(mutation.history());
+        return mutation.userPoint();
+    }
 
-            // 최대 잔고 초과 여부 확인
-            if (updateAmount > MAX_BALANCE) {
-                throw new PointException("잔고는 최대 " + MAX_BALANCE + " 포인트를 초과할 수 없습니다.");
-            }
+    public UserPoint usePoint(long userId, long amount) {
+        Mutation mutation = withUserLock(userId, () -> use(userId, amount));
+        pointHistoryWriter.await(mutation.history());
+        return mutation.userPoint();
+    }
 
-            // 포인트 충전
-            UserPoint updatedUserPoint = userPointTable.insertOrUpdate(userId, updateAmount);
+    public CompletableFuture<UserPoint> chargePointAsync(long userId, long amount) {
+        return completed(() -> chargePoint(userId, amount));
+    }
 
-            // 포인트 충전 내역 기록
-            pointHistoryTable.insert(userId, amount, TransactionType.CHARGE, System.currentTimeMillis());
-            return updatedUserPoint;
-        } finally {
-            lock.unlock();
+    public CompletableFuture<UserPoint> usePointAsync(long userId, long amount) {
+        return completed(() -> usePoint(userId, amount));
+    }
+
+    /**
+     * fromUserId 의 포인트를 toUserId 에게 옮긴다.
+     * - 두 유저의 락을 정해진 순서로 함께 잡고, 양쪽 잔고를 모두 검증한 뒤에만 저장한다.
+     * - 받는 쪽 잔고 저장이 실패하면 보낸 쪽 잔고를 되돌린다.
+     */
+    public PointTransferResult transfer(long fromUserId, long toUserId, long amount) {
+        if (fromUserId == toUserId) {
+            throw rejected("same_user", "자기 자신에게는 이체할 수 없습니다.");
+        }
+        if (amount <= MINIMUM_AMOUNT) {
+            throw rejected("invalid_amount", "이체 금액은 0 보다 커야 합니다.");
         }
+        Transfer transfer = withUserLocks(fromUserId, toUserId, () -> move(fromUserId, toUserId, amount));
+        pointHistoryWriter.await(transfer.fromHistory());
+        pointHistoryWriter.await(transfer.toHistory());
+        return new PointTransferResult(transfer.from(), transfer.to());
     }
 
-    public UserPoint usePoint(long userId, long amount) {
-        Lock lock = getUserLock(userId);
-        lock.lock();
+    public CompletableFuture<PointTransferResult> transferAsync(long fromUserId, long toUserId, long amount) {
+        return completed(() -> transfer(fromUserId, toUserId, amount));
+    }
+
+    /**
+     * 여러 건의 충전/사용을 유저별로 묶어서 처리한다.
+     * - 유저별로 락을 한 번만 잡고 요청 순서대로 적용한 뒤 잔고는 마지막에 한 번만 저장한다.
+     * - 실패한 건은 건너뛰고 나머지는 계속 적용한다.
+     * - 서로 다른 유저는 병렬로 처리한다.
+     * - 한 유저의 락을 기다리다 거절되면 그 유저의 건만 실패로 응답하고 다른 유저의 결과는 그대로 둔다.
+     * - 한 번에 최대 MAX_BULK_SIZE 건까지 처리한다.
+     */
+    public List<PointCommandResult> execute(List<PointCommand> commands) {
+        checkBulkSize(commands);
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            indexesByUser.computeIfAbsent(commands.get(i).userId(), k -> new ArrayList<>()).add(i);
+        }
+
+        PointCommandResult[] results = new PointCommandResult[commands.size()];
+        CompletableFuture<?>[] futures = indexesByUser.entrySet().stream()
+                .map(entry -> executeExclusively(entry.getKey(), () -> applyCommands(entry.getKey(), entry.getValue(), commands, results))
+                        .exceptionally(e -> rejectedGroup(e, entry.getValue(), commands, results))
+                        .thenCompose(histories -> CompletableFuture.allOf(histories.stream()
+                                .map(pointHistoryWriter::acknowledgement)
+                                .toArray(CompletableFuture[]::new))))
+                .toArray(CompletableFuture[]::new);
+        join(CompletableFuture.allOf(futures));
+        return Arrays.asList(results);
+    }
+
+    public CompletableFuture<List<PointCommandResult>> executeAsync(List<PointCommand> commands) {
+        return completed(() -> execute(commands));
+    }
+
+    /**
+     * 같은 유저의 다른 변경과 겹치지 않게 action 을 비동기로 실행한다.
+     */
+    <T> CompletableFuture<T> executeExclusively(long userId, Supplier<T> action) {
+        return CompletableFuture.supplyAsync(() -> withUserLock(userId, action), batchExecutor);
+    }
+
+    /**
+     * 유저 락을 잡고 action 을 실행하면서 락 대기/점유 시간을 기록한다.
+     * 락 대기 시간이 point.lock.wait-timeout-ms 를 넘으면 TooManyRequestsException 으로 거절된다.
+     */
+    <T> T withUserLock(long userId, Supplier<T> action) {
+        return measured(timed -> userLockRegistry.withLock(userId, timed), action);
+    }
+
+    /**
+     * 두 유저의 락을 교착 상태 없는 순서로 함께 잡고 action 을 실행한다.
+     */
+    <T> T withUserLocks(long firstUserId, long secondUserId, Supplier<T> action) {
+        return measured(timed -> userLockRegistry.withLocks(firstUserId, secondUserId, timed), action);
+    }
+
+    private <T> T measured(Function<Supplier<T>, T> locking, Supplier<T> action) {
+        long requested = System.nanoTime();
         try {
-            UserPoint userPoint = userPointTable.selectById(userId);
-            long updateAmount = userPoint.point() - amount;
+            return locking.apply(() -> {
+                long acquired = System.nanoTime();
+                pointMetrics.recordLockWait(acquired - requested);
+                try {
+                    return action.get();
+                } finally {
+                    pointMetrics.recordLockHold(System.nanoTime() - acquired);
+                }
+            });
+        } catch (TooManyRequestsException e) {
+            pointMetrics.recordRejection("lock_timeout");
+            throw e;
+        }
+    }
+
+    /**
+     * 포인트 충전 (호출하는 쪽에서 유저 단위 순차 처리를 보장해야 한다)
+     */
+    Mutation charge(long userId, long amount) {
+        UserPoint userPoint = userPointTable.selectById(userId);
+        long updateAmount = chargedBalance(userPoint.point(), amount);
+
+        // 포인트 충전
+        UserPoint updatedUserPoint = userPointTable.insertOrUpdate(userId, updateAmount);
+        cache(updatedUserPoint);
+
+        // 포인트 충전 내역 기록 (잔고가 저장된 뒤에만 큐에 넣고, 저장은 락 밖에서 기다린다)
+        CompletableFuture<PointHistory> history = pointHistoryWriter.write(userId, amount, TransactionType.CHARGE, updatedUserPoint.updateMillis());
+        return new Mutation(updatedUserPoint, history);
+    }
+
+    /**
+     * 포인트 사용 (호출하는 쪽에서 유저 단위 순차 처리를 보장해야 한다)
+     */
+    Mutation use(long userId, long amount) {
+        UserPoint userPoint = userPointTable.selectById(userId);
+        long updateAmount = usedBalance(userPoint.point(), amount);
 
-            // 잔고 부족 여부 확인
-            if (updateAmount < MINIMUM_AMOUNT) {
-                throw new PointException("잔액이 부족합니다.");
+        // 포인트 사용
+        UserPoint updatedUserPoint = userPointTable.insertOrUpdate(userId, updateAmount);
+        cache(updatedUserPoint);
+
+        // 포인트 사용 내역 기록 (잔고가 저장된 뒤에만 큐에 넣고, 저장은 락 밖에서 기다린다)
+        CompletableFuture<PointHistory> history = pointHistoryWriter.write(userId, amount, TransactionType.USE, updatedUserPoint.updateMillis());
+        return new Mutation(updatedUserPoint, history);
+    }
+
+    /**
+     * 이체 (호출하는 쪽에서 두 유저의 락을 잡고 있어야 한다)
+     */
+    Transfer move(long fromUserId, long toUserId, long amount) {
+        // 두 유저의 잔고는 서로 관계없으므로 동시에 읽는다
+        CompletableFuture<UserPoint> fromRead = asyncUserPointTable.selectById(fromUserId);
+        CompletableFuture<UserPoint> toRead = asyncUserPointTable.selectById(toUserId);
+        UserPoint from = join(fromRead);
+        UserPoint to = join(toRead);
+        long fromAmount = usedBalance(from.point(), amount);
+        long toAmount = chargedBalance(to.point(), amount);
+
+        // 저장도 동시에 하고, 한쪽만 실패하면 성공한 쪽을 원래 잔고로 되돌린다
+        CompletableFuture<UserPoint> fromWrite = asyncUserPointTable.insertOrUpdate(fromUserId, fromAmount);
+        CompletableFuture<UserPoint> toWrite = asyncUserPointTable.insertOrUpdate(toUserId, toAmount);
+        try {
+            join(CompletableFuture.allOf(fromWrite, toWrite));
+        } catch (RuntimeException e) {
+            try {
+                if (!fromWrite.isCompletedExceptionally()) {
+                    userPointTable.insertOrUpdate(fromUserId, from.point());
+                }
+                if (!toWrite.isCompletedExceptionally()) {
+                    userPointTable.insertOrUpdate(toUserId, to.point());
+                }
+            } catch (RuntimeException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            } finally {
+                // 저장과 되돌리기 사이에 조회가 중간 값을 캐시에 채웠을 수 있으므로 두 유저 모두 비운다
+                invalidate(fromUserId, toUserId);
             }
+            throw e;
+        }
+        UserPoint updatedFrom = fromWrite.join();
+        UserPoint updatedTo = toWrite.join();
+        cache(updatedFrom);
+        cache(updatedTo);
 
-            // 포인트 사용
-            UserPoint updatedUserPoint = userPointTable.insertOrUpdate(userId, updateAmount);
+        // 충전/사용과 같이 저장된 잔고의 변경 시각을 내역에 남긴다
+        return new Transfer(
+                updatedFrom,
+                updatedTo,
+                pointHistoryWriter.write(fromUserId, amount, TransactionType.TRANSFER_OUT, updatedFrom.updateMillis()),
+                pointHistoryWriter.write(toUserId, amount, TransactionType.TRANSFER_IN, updatedTo.updateMillis())
+        );
+    }
 
-            // 포인트 사용 내역 기록
-            pointHistoryTable.insert(userId, amount, TransactionType.USE, System.currentTimeMillis());
-            return updatedUserPoint;
-        } finally {
-            lock.unlock();
+    private List<CompletableFuture<PointHistory>> applyCommands(long userId, List<Integer> indexes, List<PointCommand> commands, PointCommandResult[] results) {
+        long balance = userPointTable.selectById(userId).point();
+        List<PointCommand> applied = new ArrayList<>();
+
+        for (int index : indexes) {
+            PointCommand command = commands.get(index);
+            try {
+                balance = appliedBalance(balance, command);
+                applied.add(command);
+                results[index] = PointCommandResult.success(command, balance);
+            } catch (PointException e) {
+                results[index] = PointCommandResult.failure(command, e.getMessage());
+            }
+        }
+
+        List<CompletableFuture<PointHistory>> histories = new ArrayList<>();
+        if (!applied.isEmpty()) {
+            // 잔고 저장에 실패하면 내역을 남기지 않는다
+            UserPoint updatedUserPoint = userPointTable.insertOrUpdate(userId, balance);
+            cache(updatedUserPoint);
+            for (PointCommand command : applied) {
+                histories.add(pointHistoryWriter.write(userId, command.amount(), command.type(), updatedUserPoint.updateMillis()));
+            }
+        }
+        return histories;
+    }
+
+    // 락 대기 시간 초과로 거절된 유저의 건을 모두 실패로 채운다. 다른 예외는 그대로 전파한다.
+    private List<CompletableFuture<PointHistory>> rejectedGroup(Throwable error, List<Integer> indexes, List<PointCommand> commands, PointCommandResult[] results) {
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        if (!(cause instanceof TooManyRequestsException)) {
+            throw error instanceof CompletionException completionException ? completionException : new CompletionException(cause);
+        }
+        for (int index : indexes) {
+            results[index] = PointCommandResult.failure(commands.get(index), cause.getMessage());
+        }
+        return List.of();
+    }
+
+    /**
+     * 락 안에서 저장한 잔고를 조회용 잔고에 반영한다.
+     */
+    void cache(UserPoint userPoint) {
+        balances.put(userPoint.id(), userPoint);
+        evictIfFull();
+    }
+
+    // 지우기 전에 늘려야 그 사이에 테이블을 읽은 조회가 오래된 값을 채우지 않는다
+    private void invalidate(long... userIds) {
+        evictions.incrementAndGet();
+        for (long userId : userIds) {
+            balances.remove(userId);
         }
     }
 
     public UserPoint getPoint(long userId) {
-        return userPointTable.selectById(userId);
+        UserPoint cached = balances.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        // 읽는 사이에 변경이 먼저 반영됐으면 그 값을 사용한다 (변경은 put, 조회는 비어 있을 때만 채운다)
+        // 읽는 사이에 지워진 유저가 있으면 읽은 값이 그보다 오래됐을 수 있으므로 채우지 않는다
+        long evicted = evictions.get();
+        UserPoint loaded = userPointTable.selectById(userId);
+        UserPoint current = balances.compute(userId, (id, existing) ->
+                existing != null || evictions.get() != evicted ? existing : loaded);
+        if (current == null) {
+            return loaded;
+        }
+        if (current == loaded) {
+            evictIfFull();
+        }
+        return current;
+    }
+
+    // 한 스레드만 지우면 되므로 다른 스레드가 지우는 중이면 건너뛴다
+    private void evictIfFull() {
+        if (balances.size() <= MAX_CACHED_BALANCES || !evictLock.tryLock()) {
+            return;
+        }
+        try {
+            Iterator<Map.Entry<Long, UserPoint>> iterator = balances.entrySet().iterator();
+            while (balances.size() > MAX_CACHED_BALANCES && iterator.hasNext()) {
+                Map.Entry<Long, UserPoint> entry = iterator.next();
+                // 지우기 전에 늘려야 그 사이에 테이블을 읽은 조회가 오래된 값을 채우지 않는다
+                evictions.incrementAndGet();
+                balances.remove(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    /**
+     * 여러 유저의 잔고를 한 번에 조회한다.
+     * - 중복된 id 는 한 번만 조회하고, 결과는 처음 나온 순서대로 반환한다.
+     * - 캐시에 없는 유저는 최대 BULK_LOOKUP_CONCURRENCY 개까지 병렬로 읽는다.
+     */
+    public List<UserPoint> getPoints(Collection<Long> userIds) {
+        List<Long> distinctIds = userIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (distinctIds.size() > MAX_BULK_SIZE) {
+            throw new PointException("한 번에 조회할 수 있는 유저는 최대 " + MAX_BULK_SIZE + " 명입니다.");
+        }
+
+        UserPoint[] results = new UserPoint[distinctIds.size()];
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = () -> {
+            int index;
+            while ((index = next.getAndIncrement()) < results.length) {
+                results[index] = getPoint(distinctIds.get(index));
+            }
+        };
+        CompletableFuture<?>[] workers = IntStream.range(0, Math.min(BULK_LOOKUP_CONCURRENCY, results.length))
+                .mapToObj(i -> CompletableFuture.runAsync(worker, batchExecutor))
+                .toArray(CompletableFuture[]::new);
+        join(CompletableFuture.allOf(workers));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 잔고 응답의 ETag. 응답 본문(id, point, updateMillis)이 같으면 같은 값이 나온다.
+     */
+    public static String eTagOf(UserPoint userPoint) {
+        return "\"" + userPoint.updateMillis() + "-" + userPoint.point() + "\"";
     }
 
     public List<PointHistory> getHistory(long userId) {
         return pointHistoryTable.selectAllByUserId(userId);
     }
+
+    public List<PointHistory> getHistory(long userId, long afterId, int limit) {
+        return pointHistoryTable.selectByUserIdAfter(userId, afterId, pageSize(limit));
+    }
+
+    public List<PointHistory> getHistory(long userId, long fromMillis, long toMillis, long afterId, int limit) {
+        return pointHistoryTable.selectByUserIdBetween(userId, fromMillis, toMillis, afterId, pageSize(limit));
+    }
+
+    /**
+     * 내역 조회를 저장소 실행기에서 처리하고 호출한 스레드는 바로 돌려준다.
+     */
+    public CompletableFuture<List<PointHistory>> getHistoryAsync(long userId) {
+        return asyncPointHistoryTable.selectAllByUserId(userId);
+    }
+
+    public CompletableFuture<List<PointHistory>> getHistoryAsync(long userId, long afterId, int limit) {
+        return asyncPointHistoryTable.selectByUserIdAfter(userId, afterId, pageSize(limit));
+    }
+
+    public CompletableFuture<List<PointHistory>> getHistoryAsync(long userId, long fromMillis, long toMillis, long afterId, int limit) {
+        return asyncPointHistoryTable.selectByUserIdBetween(userId, fromMillis, toMillis, afterId, pageSize(limit));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdown();
+    }
+
+    static <T> CompletableFuture<T> completed(Supplier<T> action) {
+        try {
+            return CompletableFuture.completedFuture(action.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    static void checkBulkSize(List<PointCommand> commands) {
+        if (commands.size() > MAX_BULK_SIZE) {
+            throw new PointException("한 번에 처리할 수 있는 요청은 최대 " + MAX_BULK_SIZE + " 건입니다.");
+        }
+    }
+
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private int pageSize(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    }
+
+    long appliedBalance(long balance, PointCommand command) {
+        if (command.type() == null) {
+            throw rejected("missing_type", "거래 종류가 없습니다.");
+        }
+        return switch (command.type()) {
+            case CHARGE -> chargedBalance(balance, command.amount());
+            case USE -> usedBalance(balance, command.amount());
+            // 받는 유저가 함께 있어야 하므로 일괄 처리에서는 이체를 할 수 없다
+            case TRANSFER_OUT, TRANSFER_IN -> throw rejected("unsupported_type", "일괄 처리에서는 이체를 할 수 없습니다.");
+        };
+    }
+
+    long chargedBalance(long balance, long amount) {
+        long updateAmount = balance + amount;
+
+        // 최대 잔고 초과 여부 확인
+        if (updateAmount > MAX_BALANCE) {
+            throw rejected("max_balance", "잔고는 최대 " + MAX_BALANCE + " 포인트를 초과할 수 없습니다.");
+        }
+        return updateAmount;
+    }
+
+    long usedBalance(long balance, long amount) {
+        long updateAmount = balance - amount;
+
+        // 잔고 부족 여부 확인
+        if (updateAmount < MINIMUM_AMOUNT) {
+            throw rejected("insufficient_balance", "잔액이 부족합니다.");
+        }
+        return updateAmount;
+    }
+
+    PointException rejected(String reason, String message) {
+        pointMetrics.recordRejection(reason);
+        return new PointException(message);
+    }
+
+    // 락 안에서 결정된 잔고와 락 밖에서 기다릴 내역 저장 결과
+    record Mutation(UserPoint userPoint, CompletableFuture<PointHistory> history) {
+    }
+
+    // 락 안에서 결정된 두 유저의 잔고와 락 밖에서 기다릴 두 내역의 저장 결과
+    record Transfer(UserPoint from, UserPoint to, CompletableFuture<PointHistory> fromHistory, CompletableFuture<PointHistory> toHistory) {
+    }
 }
@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.PointTransferResult;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.lock.UserLockRegistry;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.AsyncPointHistoryRepository;
+import io.hhplus.tdd.point.repository.AsyncUserPointRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryWriter;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * 유저 id 별로 고정된 단일 스레드 shard 에서 충전/사용을 처리하는 PointService (point.concurrency.mode=shard)
+ * - 같은 유저의 요청은 항상 같은 shard 에 들어가므로 락 없이 들어온 순서대로 처리된다.
+ * - 호출한 스레드는 기다리지 않고 CompletableFuture 를 받는다.
+ */
+@Service
+@ConditionalOnProperty(name = "point.concurrency.mode", havingValue = "shard")
+public class ShardedPointService extends PointService {
+
+    private final PointHistoryWriter pointHistoryWriter;
+    private final ExecutorService[] shards;
+
+    public ShardedPointService(
+            UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository,
+            AsyncUserPointRepository asyncUserPointRepository,
+            AsyncPointHistoryRepository asyncPointHistoryRepository,
+            PointHistoryWriter pointHistoryWriter,
+            UserLockRegistry userLockRegistry,
+            PointMetrics pointMetrics,
+            @Value("${point.concurrency.shard.count:0}") int shardCount
+    ) {
+        super(userPointRepository, pointHistoryRepository, asyncUserPointRepository, asyncPointHistoryRepository,
+                pointHistoryWriter, userLockRegistry, pointMetrics);
+        this.pointHistoryWriter = pointHistoryWriter;
+
+        // 0 이면 코어 수만큼 shard 를 만든다
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.shards = new ExecutorService[count];
+        for (int i = 0; i < count; i++) {
+            String name = "point-shard-" + i;
+            shards[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @Override
+    public UserPoint chargePoint(long userId, long amount) {
+        return join(chargePointAsync(userId, amount));
+    }
+
+    @Override
+    public UserPoint usePoint(long userId, long amount) {
+        return join(usePointAsync(userId, amount));
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> chargePointAsync(long userId, long amount) {
+        return executeExclusively(userId, () -> charge(userId, amount))
+                .thenCompose(mutation -> pointHistoryWriter.acknowledgement(mutation.history())
+                        .thenApply(ignored -> mutation.userPoint()));
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> usePointAsync(long userId, long amount) {
+        return executeExclusively(userId, () -> use(userId, amount))
+                .thenCompose(mutation -> pointHistoryWriter.acknowledgement(mutation.history())
+                        .thenApply(ignored -> mutation.userPoint()));
+    }
+
+    /**
+     * 두 유저의 잔고를 함께 바꾸는 이체는 유저 락 모드(point.concurrency.mode=lock)에서만 지원한다.
+     */
+    @Override
+    public PointTransferResult transfer(long fromUserId, long toUserId, long amount) {
+        throw rejected("unsupported_mode", "현재 동시성 모드에서는 이체를 지원하지 않습니다.");
+    }
+
+    @Override
+    <T> CompletableFuture<T> executeExclusively(long userId, Supplier<T> action) {
+        return CompletableFuture.supplyAsync(action, shardOf(userId));
+    }
+
+    @Override
+    @PreDestroy
+    public void shutdown() {
+        super.shutdown();
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+    }
+
+    private ExecutorService shardOf(long userId) {
+        return shards[Math.floorMod(Long.hashCode(userId), shards.length)];
+    }
+}
@@ -0,0 +1,205 @@
+package io.hhplus.tdd.point.summary;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * 유저별 내역 요약을 내역이 저장될 때마다 조금씩 갱신해 두는 집계
+ * - PointHistoryWriter 가 내역을 저장할 때마다 합계/건수/처음·마지막 시각/날짜별 합계에 더한다.
+ *   그래서 요약 조회는 내역 수와 관계없이 유저의 집계만 읽는다.
+ * - 집계는 요약을 조회한 유저만 max-cached-users 명까지 둔다. 처음 조회하거나 지워진 유저는 저장소의 내역으로 다시 만들고,
+ *   다시 만드는 동안 저장된 내역은 저장소에서 읽은 내역과 겹치지 않게 한 번씩만 반영한다.
+ *   (point.storage.type=wal 이어도 시작할 때 로그 전체를 재생하지 않는다)
+ * - 날짜별 합계는 거래가 있었던 최근 retained-days 일만 보관한다.
+ */
+@Component
+public class PointSummaryAggregator {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final PointHistoryRepository pointHistoryRepository;
+    // 집계를 둔 유저. max-cached-users 를 넘으면 아무 유저나 지운다
+    private final Map<Long, UserAggregate> aggregates = new ConcurrentHashMap<>();
+    private final Lock evictLock = new ReentrantLock();
+    private final ZoneId zone;
+    private final int retainedDays;
+    private final int maxCachedUsers;
+
+    public PointSummaryAggregator(
+            PointHistoryRepository pointHistoryRepository,
+            PointHistoryWriter pointHistoryWriter,
+            @Value("${point.summary.zone:Asia/Seoul}") String zone,
+            @Value("${point.summary.retained-days:90}") int retainedDays,
+            @Value("${point.summary.max-cached-users:100000}") int maxCachedUsers
+    ) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.zone = ZoneId.of(zone);
+        this.retainedDays = retainedDays;
+        this.maxCachedUsers = maxCachedUsers;
+        pointHistoryWriter.addCommitListener(this::onCommitted);
+    }
+
+    public PointSummary summary(long userId) {
+        UserAggregate aggregate = aggregates.get(userId);
+        if (aggregate == null) {
+            UserAggregate created = new UserAggregate();
+            aggregate = aggregates.putIfAbsent(userId, created);
+            if (aggregate == null) {
+                aggregate = created;
+                load(userId, created);
+                evictIfFull();
+            }
+        }
+        return aggregate.summary(userId);
+    }
+
+    // 집계가 없는 유저의 내역은 다음 조회 때 저장소에서 다시 읽으므로 건너뛴다
+    private void onCommitted(PointHistory history) {
+        UserAggregate aggregate = aggregates.get(history.userId());
+        if (aggregate != null) {
+            aggregate.addCommitted(history, epochDayOf(history));
+        }
+    }
+
+    // 먼저 등록한 뒤에 읽어야 읽는 사이에 저장된 내역을 놓치지 않는다 (읽은 내역과 겹치는 것은 UserAggregate 가 거른다)
+    private void load(long userId, UserAggregate aggregate) {
+        try {
+            List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(userId);
+            aggregate.load(histories, this::epochDayOf);
+        } catch (RuntimeException e) {
+            aggregates.remove(userId, aggregate);
+            aggregate.loaded.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // 한 스레드만 지우면 되므로 다른 스레드가 지우는 중이면 건너뛴다
+    private void evictIfFull() {
+        if (aggregates.size() <= maxCachedUsers || !evictLock.tryLock()) {
+            return;
+        }
+        try {
+            Iterator<Map.Entry<Long, UserAggregate>> iterator = aggregates.entrySet().iterator();
+            while (aggregates.size() > maxCachedUsers && iterator.hasNext()) {
+                Map.Entry<Long, UserAggregate> entry = iterator.next();
+                aggregates.remove(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    private long epochDayOf(PointHistory history) {
+        return Instant.ofEpochMilli(history.updateMillis()).atZone(zone).toLocalDate().toEpochDay();
+    }
+
+    private static Map<TransactionType, PointSummary.Totals> totals(long[] counts, int countOffset, long[] amounts, int amountOffset) {
+        Map<TransactionType, PointSummary.Totals> totals = new EnumMap<>(TransactionType.class);
+        for (TransactionType type : TYPES) {
+            totals.put(type, new PointSummary.Totals(counts[countOffset + type.ordinal()], amounts[amountOffset + type.ordinal()]));
+        }
+        return totals;
+    }
+
+    /**
+     * 유저 한 명의 집계. 저장 시점의 반영과 저장소에서 다시 만드는 것이 겹칠 수 있어서 동기화한다.
+     * 같은 유저의 내역은 한 committer 가 id 순서대로 전달하므로,
+     * - 다시 만드는 동안 전달된 내역은 [firstCommittedId, lastCommittedId] 구간의 내역 전부이고
+     * - 다시 만든 뒤에는 저장소에서 읽은 마지막 id 이하의 내역을 건너뛰면 된다.
+     */
+    private final class UserAggregate {
+        private final long[] counts = new long[TYPES.length];
+        private final long[] amounts = new long[TYPES.length];
+        private long firstMillis = Long.MAX_VALUE;
+        private long lastMillis = Long.MIN_VALUE;
+        // epochDay -> [종류별 건수..., 종류별 금액...]
+        private final TreeMap<Long, long[]> daily = new TreeMap<>();
+
+        private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+        private long firstCommittedId = Long.MAX_VALUE;
+        private long lastCommittedId = Long.MIN_VALUE;
+        // 이 id 까지는 반영했다
+        private long appliedUntilId = Long.MIN_VALUE;
+
+        private synchronized void addCommitted(PointHistory history, long epochDay) {
+            if (!loaded.isDone()) {
+                firstCommittedId = Math.min(firstCommittedId, history.id());
+                lastCommittedId = Math.max(lastCommittedId, history.id());
+            } else if (history.id() <= appliedUntilId) {
+                return;
+            }
+            add(history, epochDay);
+        }
+
+        private synchronized void load(List<PointHistory> histories, ToLongFunction<PointHistory> epochDayOf) {
+            long untilId = lastCommittedId;
+            for (PointHistory history : histories) {
+                if (history.id() < firstCommittedId || history.id() > lastCommittedId) {
+                    add(history, epochDayOf.applyAsLong(history));
+                }
+                untilId = Math.max(untilId, history.id());
+            }
+            appliedUntilId = untilId;
+            loaded.complete(null);
+        }
+
+        private void add(PointHistory history, long epochDay) {
+            int type = history.type().ordinal();
+            counts[type]++;
+            amounts[type] += history.amount();
+            firstMillis = Math.min(firstMillis, history.updateMillis());
+            lastMillis = Math.max(lastMillis, history.updateMillis());
+
+            long[] day = daily.computeIfAbsent(epochDay, k -> new long[TYPES.length * 2]);
+            day[type]++;
+            day[TYPES.length + type] += history.amount();
+            if (daily.size() > retainedDays) {
+                daily.pollFirstEntry();
+            }
+        }
+
+        private PointSummary summary(long userId) {
+            try {
+                loaded.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            synchronized (this) {
+                long count = 0L;
+                for (long typeCount : counts) {
+                    count += typeCount;
+                }
+                List<PointSummary.Daily> days = new ArrayList<>(daily.size());
+                daily.forEach((epochDay, day) -> days.add(new PointSummary.Daily(
+                        LocalDate.ofEpochDay(epochDay),
+                        totals(day, 0, day, TYPES.length)
+                )));
+                // 내역이 없는 유저는 처음/마지막 시각을 0 으로 응답한다
+                return count == 0L
+                        ? new PointSummary(userId, 0L, 0L, 0L, totals(counts, 0, amounts, 0), days)
+                        : new PointSummary(userId, count, firstMillis, lastMillis, totals(counts, 0, amounts, 0), days);
+            }
+        }
+    }
+}
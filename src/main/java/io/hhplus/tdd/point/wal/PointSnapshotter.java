@@ -0,0 +1,298 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 잔고 스냅샷 (point.storage.type=wal)
+ * - 주기적으로 모든 유저의 잔고와 마지막으로 반영한 내역 id 를 바이너리 파일로 남긴다.
+ * - 시작할 때 가장 최근 스냅샷을 읽고 그 이후의 WAL 꼬리만 재생한다.
+ * - 스냅샷용 잔고는 서비스의 잔고와 따로 WAL 을 따라가며 계산하므로, 스냅샷을 만드는 동안 요청을 멈추지 않는다.
+ * - 유저별 내역 id 도 함께 남겨서, 내역 인덱스(WalPointHistoryRepository)도 스냅샷 이후의 꼬리만 재생하게 한다.
+ *   (내역 하나당 8 바이트를 메모리와 파일에 더 쓴다)
+ * - 파일 형식 : [MAGIC][lastAppliedId][count][userId, point, updateMillis, idCount, id...]...[CRC32C]
+ *   내역 id 가 없는 이전 형식(MAGIC 0x50534E31)의 스냅샷은 읽지 않고 WAL 을 처음부터 재생한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.storage.type", havingValue = "wal")
+public class PointSnapshotter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointSnapshotter.class);
+
+    private static final int MAGIC = 0x50534E32;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    private final PointWriteAheadLog writeAheadLog;
+    private final Path directory;
+    private final int retained;
+    private final Lock lock = new ReentrantLock();
+    private final Map<Long, UserPoint> balances = new HashMap<>();
+    private final Map<Long, HistoryIds> historyIds = new HashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private long lastAppliedId;
+
+    public PointSnapshotter(
+            PointWriteAheadLog writeAheadLog,
+            @Value("${point.storage.snapshot.directory:./data/snapshot}") Path directory,
+            @Value("${point.storage.snapshot.interval-ms:60000}") long intervalMillis,
+            @Value("${point.storage.snapshot.retained:2}") int retained
+    ) {
+        this.writeAheadLog = writeAheadLog;
+        this.directory = directory;
+        this.retained = Math.max(1, retained);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷 디렉터리를 만들지 못했습니다. directory=" + directory, e);
+        }
+        load();
+        if (lastAppliedId > writeAheadLog.lastId()) {
+            throw new IllegalStateException("스냅샷이 WAL 보다 앞서 있습니다. snapshot=" + lastAppliedId + ", wal=" + writeAheadLog.lastId());
+        }
+        catchUp();
+
+        if (intervalMillis > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "point-snapshotter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::snapshotQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            scheduler = null;
+        }
+    }
+
+    /**
+     * 최신 스냅샷에 WAL 꼬리까지 반영한 잔고를 반환한다.
+     */
+    public Map<Long, UserPoint> balances() {
+        lock.lock();
+        try {
+            catchUp();
+            return new HashMap<>(balances);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long lastAppliedId() {
+        lock.lock();
+        try {
+            return lastAppliedId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 지금까지 반영한 유저별 내역 id 를 오름차순으로 전달하고, 반영한 마지막 내역 id 를 반환한다.
+     * 내역 인덱스는 시작할 때 이 id 들을 받고, 반환된 id 이후의 WAL 꼬리만 재생한다.
+     */
+    public long historyIds(BiConsumer<Long, long[]> consumer) {
+        lock.lock();
+        try {
+            historyIds.forEach((userId, ids) -> consumer.accept(userId, ids.toArray()));
+            return lastAppliedId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * WAL 에 새로 추가된 내역을 반영하고 스냅샷 파일을 쓴다. 새로 반영할 내역이 없으면 쓰지 않는다.
+     */
+    public void snapshot() {
+        lock.lock();
+        try {
+            long previous = lastAppliedId;
+            catchUp();
+            if (lastAppliedId == previous && Files.exists(snapshotPath(lastAppliedId))) {
+                return;
+            }
+            write();
+            deleteOldSnapshots();
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 쓰지 못했습니다.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        // 다음 시작 때 재생할 꼬리를 줄이기 위해 종료 전에 한 번 더 남긴다
+        snapshotQuietly();
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.error("잔고 스냅샷을 남기지 못했습니다.", e);
+        }
+    }
+
+    // 디스크에 반영된 내역까지만 따라간다 (장애 후 사라질 수 있는 내역이 스냅샷에 들어가지 않도록)
+    private void catchUp() {
+        writeAheadLog.replay(lastAppliedId, writeAheadLog.flush(), this::apply);
+    }
+
+    private void apply(PointHistory pointHistory) {
+        UserPoint userPoint = balances.get(pointHistory.userId());
+        long balance = userPoint == null ? 0L : userPoint.point();
+        long updateAmount = switch (pointHistory.type()) {
+            case CHARGE, TRANSFER_IN -> balance + pointHistory.amount();
+            case USE, TRANSFER_OUT -> balance - pointHistory.amount();
+        };
+        balances.put(pointHistory.userId(), new UserPoint(pointHistory.userId(), updateAmount, pointHistory.updateMillis()));
+        historyIds.computeIfAbsent(pointHistory.userId(), k -> new HistoryIds()).add(pointHistory.id());
+        lastAppliedId = pointHistory.id();
+    }
+
+    // 가장 최근 스냅샷부터 읽어보고, 깨진 파일이면 그 이전 스냅샷을 사용한다
+    private void load() {
+        for (Path path : snapshots().reversed()) {
+            try {
+                read(path);
+                return;
+            } catch (IOException | IllegalStateException e) {
+                log.warn("스냅샷을 읽지 못해 이전 스냅샷을 사용합니다. snapshot={}", path, e);
+                balances.clear();
+                historyIds.clear();
+                lastAppliedId = 0L;
+            }
+        }
+    }
+
+    private void read(Path path) throws IOException {
+        CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16), new CRC32C());
+        try (DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalStateException("스냅샷 파일 형식이 아닙니다.");
+            }
+            long appliedId = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long userId = in.readLong();
+                balances.put(userId, new UserPoint(userId, in.readLong(), in.readLong()));
+                HistoryIds ids = new HistoryIds();
+                int idCount = in.readInt();
+                for (int j = 0; j < idCount; j++) {
+                    ids.add(in.readLong());
+                }
+                historyIds.put(userId, ids);
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IllegalStateException("스냅샷 체크섬이 맞지 않습니다.");
+            }
+            lastAppliedId = appliedId;
+        }
+    }
+
+    // 임시 파일에 쓰고 fsync 한 뒤 이름을 바꿔서, 쓰다 만 스냅샷이 최신 스냅샷으로 보이지 않게 한다
+    private void write() throws IOException {
+        Path target = snapshotPath(lastAppliedId);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), new CRC32C());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeLong(lastAppliedId);
+            out.writeInt(balances.size());
+            for (UserPoint userPoint : balances.values()) {
+                out.writeLong(userPoint.id());
+                out.writeLong(userPoint.point());
+                out.writeLong(userPoint.updateMillis());
+                HistoryIds ids = historyIds.get(userPoint.id());
+                out.writeInt(ids.size);
+                for (int i = 0; i < ids.size; i++) {
+                    out.writeLong(ids.values[i]);
+                }
+            }
+            out.writeLong(checked.getChecksum().getValue());
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void deleteOldSnapshots() throws IOException {
+        List<Path> snapshots = snapshots();
+        for (Path path : snapshots.subList(0, Math.max(0, snapshots.size() - retained))) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    // 파일 이름의 id 를 0 으로 채워 두었으므로 이름 순서가 곧 스냅샷 순서다
+    private List<Path> snapshots() {
+        try (Stream<Path> list = Files.list(directory)) {
+            return list.filter(path -> path.getFileName().toString().startsWith(SNAPSHOT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+                    .sorted(Comparator.comparing(Path::getFileName))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷 목록을 읽지 못했습니다. directory=" + directory, e);
+        }
+    }
+
+    private Path snapshotPath(long appliedId) {
+        return directory.resolve(SNAPSHOT_PREFIX + String.format("%020d", appliedId) + SNAPSHOT_SUFFIX);
+    }
+
+    // 유저 한 명의 내역 id 를 오름차순으로 모아두는 배열 (내역마다 Long 을 만들지 않도록 long[] 을 늘려가며 쓴다)
+    private static final class HistoryIds {
+        private long[] values = new long[4];
+        private int size;
+
+        private void add(long id) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = id;
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 포인트 내역을 순서대로 기록하는 append-only 로그 (point.storage.type=wal)
+ * - 고정 크기 세그먼트 파일을 메모리 매핑해서 쓰고, 가득 차면 다음 세그먼트로 넘어간다.
+ * - 레코드는 [길이][CRC32C][id, userId, amount, type, updateMillis] 형식이고, 길이가 0 이면 세그먼트의 끝이다.
+ * - id 는 로그 순서대로 1씩 늘어나므로 세그먼트의 첫 id 만 알면 원하는 id 의 위치를 바로 계산할 수 있다. (read)
+ * - 시작할 때는 마지막 세그먼트만 검사하고 깨진 꼬리(쓰다 만 레코드)는 버린다. 이전 세그먼트는 재생할 때 검사한다.
+ * - fsync-interval-ms 가 0 이면 sync() 를 부른 쪽이 fsync 를 기다리고, 동시에 기다리는 쪽은 한 번의 fsync 를 공유한다.
+ *   0 보다 크면 백그라운드에서 주기적으로 fsync 하고 sync() 는 기다리지 않는다. (장애 시 주기만큼 유실 가능)
+ */
+@Component
+@ConditionalOnProperty(name = "point.storage.type", havingValue = "wal")
+public class PointWriteAheadLog {
+
+    private static final Logger log = LoggerFactory.getLogger(PointWriteAheadLog.class);
+
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final int PAYLOAD_SIZE = Long.BYTES * 4 + Byte.BYTES;
+    private static final int RECORD_SIZE = HEADER_SIZE + PAYLOAD_SIZE;
+    private static final String SEGMENT_PREFIX = "point-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+
+    private final Path directory;
+    private final int segmentSize;
+    // id 로 바로 읽을 때는 락 없이 보므로, 드물게 바뀌는 세그먼트 목록은 복사해서 바꾼다
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final Lock appendLock = new ReentrantLock();
+    private final Lock syncLock = new ReentrantLock();
+    private final ScheduledExecutorService syncer;
+    private final ByteBuffer payload = ByteBuffer.allocate(PAYLOAD_SIZE);
+    private final CRC32C crc = new CRC32C();
+
+    private volatile Segment current;
+    private volatile long lastId;
+    private volatile long durableId;
+
+    public PointWriteAheadLog(
+            @Value("${point.storage.wal.directory:./data/wal}") Path directory,
+            @Value("${point.storage.wal.segment-size:67108864}") int segmentSize,
+            @Value("${point.storage.wal.fsync-interval-ms:0}") long fsyncIntervalMillis
+    ) {
+        if (segmentSize < RECORD_SIZE) {
+            throw new IllegalArgumentException("세그먼트 크기는 " + RECORD_SIZE + " 바이트 이상이어야 합니다.");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 을 열지 못했습니다. directory=" + directory, e);
+        }
+
+        if (fsyncIntervalMillis > 0) {
+            syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "point-wal-syncer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            syncer.scheduleWithFixedDelay(this::forceQuietly, fsyncIntervalMillis, fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            syncer = null;
+        }
+    }
+
+    /**
+     * 내역을 로그에 추가하고 id 를 부여한다. 로그 순서와 id 순서는 같다.
+     * 디스크 반영은 sync() 에서 한다.
+     */
+    public PointHistory append(long userId, long amount, TransactionType type, long updateMillis) {
+        appendLock.lock();
+        try {
+            if (current.position + RECORD_SIZE > current.capacity()) {
+                rotate();
+            }
+            PointHistory pointHistory = new PointHistory(lastId + 1, userId, amount, type, updateMillis);
+            write(current, pointHistory);
+            lastId = pointHistory.id();
+            return pointHistory;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 지금까지 추가한 레코드를 디스크에 반영한다. (group commit)
+     * 락을 기다리는 동안 다른 스레드가 fsync 했다면 바로 돌아간다.
+     */
+    public void sync() {
+        if (syncer != null) {
+            return;
+        }
+        long target = lastId;
+        if (durableId >= target) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (durableId < target) {
+                force();
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * fsync 설정과 상관없이 지금까지 추가한 레코드를 디스크에 반영하고, 반영된 마지막 id 를 반환한다.
+     */
+    public long flush() {
+        syncLock.lock();
+        try {
+            force();
+            return durableId;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * 로그에 남아 있는 내역을 기록된 순서대로 전달한다.
+     */
+    public void replay(Consumer<PointHistory> consumer) {
+        replay(0L, consumer);
+    }
+
+    /**
+     * afterId 보다 큰 id 의 내역만 기록된 순서대로 전달한다.
+     */
+    public void replay(long afterId, Consumer<PointHistory> consumer) {
+        replay(afterId, Long.MAX_VALUE, consumer);
+    }
+
+    /**
+     * id 가 (afterId, untilId] 인 내역만 기록된 순서대로 전달한다.
+     */
+    public void replay(long afterId, long untilId, Consumer<PointHistory> consumer) {
+        // 읽는 동안 추가되는 레코드는 보지 않도록 세그먼트별 끝 위치를 먼저 정해둔다
+        List<Segment> snapshot;
+        int[] ends;
+        appendLock.lock();
+        try {
+            snapshot = List.copyOf(segments);
+            ends = snapshot.stream().mapToInt(segment -> segment.position).toArray();
+        } finally {
+            appendLock.unlock();
+        }
+        for (int i = 0; i < snapshot.size(); i++) {
+            Segment segment = snapshot.get(i);
+            long skipped = Math.max(0L, afterId + 1 - segment.firstId);
+            long until = Math.min(ends[i], (untilId - segment.firstId + 1) * RECORD_SIZE);
+            for (long offset = skipped * RECORD_SIZE; offset < until; offset += RECORD_SIZE) {
+                if (segment.buffer.getInt((int) offset + Integer.BYTES) != checksum(segment.buffer, (int) offset)) {
+                    throw new IllegalStateException("WAL 세그먼트가 손상되었습니다. segment=" + segment.path + ", offset=" + offset);
+                }
+                consumer.accept(read(segment.buffer, (int) offset));
+            }
+        }
+    }
+
+    /**
+     * id 의 내역을 읽는다. 세그먼트의 첫 id 로 위치를 계산하므로 앞의 레코드를 읽지 않는다.
+     */
+    public PointHistory read(long id) {
+        if (id < 1L || id > lastId) {
+            throw new IllegalArgumentException("WAL 에 없는 내역입니다. id=" + id);
+        }
+        Segment segment = segmentOf(id);
+        int offset = (int) ((id - segment.firstId) * RECORD_SIZE);
+        if (segment.buffer.getInt(offset + Integer.BYTES) != checksum(segment.buffer, offset)) {
+            throw new IllegalStateException("WAL 세그먼트가 손상되었습니다. segment=" + segment.path + ", offset=" + offset);
+        }
+        return read(segment.buffer, offset);
+    }
+
+    public long lastId() {
+        return lastId;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (syncer != null) {
+            syncer.shutdown();
+        }
+        appendLock.lock();
+        try {
+            force();
+            for (Segment segment : segments) {
+                segment.channel.close();
+            }
+        } catch (IOException e) {
+            log.error("WAL 세그먼트를 닫지 못했습니다.", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        // 이전 세그먼트는 가득 찬 뒤에 넘어간 것이므로 레코드 수가 정해져 있다
+        long nextId = 1L;
+        for (int i = 0; i < files.size() - 1; i++) {
+            Segment segment = open(files.get(i), nextId);
+            segment.position = segment.capacity() / RECORD_SIZE * RECORD_SIZE;
+            segments.add(segment);
+            nextId += segment.position / RECORD_SIZE;
+        }
+        Segment last = files.isEmpty() ? open(segmentPath(0), nextId) : open(files.get(files.size() - 1), nextId);
+        last.position = scan(last);
+        segments.add(last);
+        current = last;
+        lastId = last.firstId + last.position / RECORD_SIZE - 1;
+        durableId = lastId;
+    }
+
+    // 마지막 세그먼트에서 온전한 레코드의 끝 위치를 찾는다
+    private int scan(Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        int offset = 0;
+        while (offset + RECORD_SIZE <= segment.capacity() && buffer.getInt(offset) != 0) {
+            if (buffer.getInt(offset) != PAYLOAD_SIZE
+                    || buffer.getInt(offset + Integer.BYTES) != checksum(buffer, offset)
+                    || read(buffer, offset).id() != segment.firstId + offset / RECORD_SIZE) {
+                log.warn("WAL 의 깨진 꼬리를 버립니다. segment={}, offset={}", segment.path, offset);
+                for (int i = offset; i < segment.capacity(); i++) {
+                    buffer.put(i, (byte) 0);
+                }
+                break;
+            }
+            offset += RECORD_SIZE;
+        }
+        return offset;
+    }
+
+    private void rotate() {
+        // 이전 세그먼트를 모두 반영한 뒤에 넘어가야 sync() 가 현재 세그먼트만 fsync 하면 된다
+        current.buffer.force();
+        try {
+            Segment next = open(segmentPath(segments.size()), lastId + 1);
+            segments.add(next);
+            current = next;
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 세그먼트를 만들지 못했습니다.", e);
+        }
+    }
+
+    private void force() {
+        // lastId 를 먼저 읽어야 그 사이 세그먼트가 바뀌어도 이전 세그먼트는 이미 반영된 상태다
+        long target = lastId;
+        current.buffer.force();
+        durableId = target;
+    }
+
+    private void forceQuietly() {
+        try {
+            syncLock.lock();
+            try {
+                force();
+            } finally {
+                syncLock.unlock();
+            }
+        } catch (RuntimeException e) {
+            log.error("WAL 을 디스크에 반영하지 못했습니다.", e);
+        }
+    }
+
+    private void write(Segment segment, PointHistory pointHistory) {
+        payload.clear();
+        payload.putLong(pointHistory.id())
+                .putLong(pointHistory.userId())
+                .putLong(pointHistory.amount())
+                .put((byte) pointHistory.type().ordinal())
+                .putLong(pointHistory.updateMillis());
+        crc.reset();
+        crc.update(payload.array(), 0, PAYLOAD_SIZE);
+
+        MappedByteBuffer buffer = segment.buffer;
+        int offset = segment.position;
+        buffer.put(offset + HEADER_SIZE, payload.array(), 0, PAYLOAD_SIZE);
+        buffer.putInt(offset + Integer.BYTES, (int) crc.getValue());
+        buffer.putInt(offset, PAYLOAD_SIZE);
+        segment.position = offset + RECORD_SIZE;
+    }
+
+    private static PointHistory read(ByteBuffer buffer, int offset) {
+        int at = offset + HEADER_SIZE;
+        return new PointHistory(
+                buffer.getLong(at),
+                buffer.getLong(at + Long.BYTES),
+                buffer.getLong(at + Long.BYTES * 2),
+                TransactionType.values()[buffer.get(at + Long.BYTES * 3)],
+                buffer.getLong(at + Long.BYTES * 3 + Byte.BYTES)
+        );
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.slice(offset + HEADER_SIZE, PAYLOAD_SIZE));
+        return (int) checksum.getValue();
+    }
+
+    // 세그먼트는 첫 id 의 오름차순이므로 이진 탐색으로 id 가 들어 있는 세그먼트를 찾는다
+    private Segment segmentOf(long id) {
+        List<Segment> snapshot = segments;
+        int low = 0;
+        int high = snapshot.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (snapshot.get(mid).firstId <= id) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return snapshot.get(low);
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(SEGMENT_PREFIX + String.format("%010d", index) + SEGMENT_SUFFIX);
+    }
+
+    // 이미 있는 세그먼트는 만들 때의 크기 그대로 연다 (설정이 바뀌어도 기존 파일을 늘리거나 자르지 않는다)
+    private Segment open(Path path, long firstId) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size() > 0 ? channel.size() : segmentSize;
+        return new Segment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size), firstId);
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final long firstId;
+        private int position;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer, long firstId) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.firstId = firstId;
+        }
+
+        private int capacity() {
+            return buffer.capacity();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.admission.AdmissionControl;
+import io.hhplus.tdd.point.exception.TooManyRequestsException;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlTest {
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("순간 허용량을 넘은 요청은 실행하지 않고 429 로 거절한다")
+    public void admit_ShouldReject_WhenBurstExceeded() {
+        //given
+        AdmissionControl admissionControl = new AdmissionControl(pointMetrics, 1, 3, 1024, 0);
+        AtomicInteger executions = new AtomicInteger();
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            admissionControl.admit(1L, () -> counted(executions)).join();
+        }
+        CompletableFuture<UserPoint> rejected = admissionControl.admit(1L, () -> counted(executions));
+
+        //then
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(TooManyRequestsException.class);
+        assertThat(executions.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("한 유저가 한도를 다 써도 다른 유저의 요청은 허용된다")
+    public void admit_ShouldLimitPerUser() {
+        //given
+        AdmissionControl admissionControl = new AdmissionControl(pointMetrics, 1, 1, 1024, 0);
+        admissionControl.admit(1L, () -> counted(new AtomicInteger())).join();
+
+        //when
+        CompletableFuture<UserPoint> sameUser = admissionControl.admit(1L, () -> counted(new AtomicInteger()));
+        CompletableFuture<UserPoint> otherUser = admissionControl.admit(2L, () -> counted(new AtomicInteger()));
+
+        //then
+        assertThat(sameUser).isCompletedExceptionally();
+        assertThat(otherUser.join().point()).isEqualTo(100L);
+    }
+
+    @Test
+    @DisplayName("시간이 지나면 다시 허용된다")
+    public void admit_ShouldRefill_OverTime() throws InterruptedException {
+        //given
+        AdmissionControl admissionControl = new AdmissionControl(pointMetrics, 100, 1, 1024, 0);
+        admissionControl.admit(1L, () -> counted(new AtomicInteger())).join();
+        assertThat(admissionControl.admit(1L, () -> counted(new AtomicInteger()))).isCompletedExceptionally();
+
+        //when
+        Thread.sleep(50);
+
+        //then
+        assertThat(admissionControl.admit(1L, () -> counted(new AtomicInteger())).join().point()).isEqualTo(100L);
+    }
+
+    @Test
+    @DisplayName("동시에 처리 중인 요청이 한도에 닿으면 기다리지 않고 거절하고, 끝나면 다시 받는다")
+    public void admit_ShouldReject_WhenTooManyInFlight() {
+        //given
+        AdmissionControl admissionControl = new AdmissionControl(pointMetrics, 0, 1, 1024, 2);
+        CompletableFuture<UserPoint> first = new CompletableFuture<>();
+        CompletableFuture<UserPoint> second = new CompletableFuture<>();
+        admissionControl.admit(1L, () -> first);
+        admissionControl.admit(2L, () -> second);
+
+        //when
+        CompletableFuture<UserPoint> rejected = admissionControl.admit(3L, () -> counted(new AtomicInteger()));
+        first.complete(new UserPoint(1L, 0L, 0L));
+        CompletableFuture<UserPoint> admitted = admissionControl.admit(3L, () -> counted(new AtomicInteger()));
+
+        //then
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(TooManyRequestsException.class);
+        assertThat(admitted.join().point()).isEqualTo(100L);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 요청해도 허용되는 수는 순간 허용량을 넘지 않는다")
+    public void admit_ShouldNotExceedBurst_WhenConcurrent() throws InterruptedException {
+        //given
+        AdmissionControl admissionControl = new AdmissionControl(pointMetrics, 1, 50, 1024, 0);
+        AtomicInteger executions = new AtomicInteger();
+        int threadCount = 16;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        //when
+        for (int t = 0; t < threadCount; t++) {
+            executorService.submit(() -> {
+                try {
+                    for (int i = 0; i < 100; i++) {
+                        admissionControl.admit(1L, () -> counted(executions));
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        //then
+        assertThat(executions.get()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("일괄 처리 요청은 건수만큼 유저의 한도를 차지한다")
+    public void admitAll_ShouldChargePerCommand() {
+        //given
+        AdmissionControl admissionControl = new AdmissionControl(pointMetrics, 1, 3, 1024, 0);
+        AtomicInteger executions = new AtomicInteger();
+
+        //when
+        admissionControl.admitAll(List.of(1L, 1L, 1L), () -> counted(executions)).join();
+        CompletableFuture<UserPoint> rejected = admissionControl.admit(1L, () -> counted(executions));
+
+        //then
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(TooManyRequestsException.class);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("한 유저라도 한도를 넘으면 일괄 처리 전체를 거절하고, 다른 유저가 차지한 한도는 돌려준다")
+    public void admitAll_ShouldRejectAll_WhenAnyUserExceeded() {
+        //given
+        AdmissionControl admissionControl = new AdmissionControl(pointMetrics, 1, 2, 1024, 0);
+        AtomicInteger executions = new AtomicInteger();
+
+        //when
+        CompletableFuture<UserPoint> rejected = admissionControl.admitAll(List.of(1L, 1L, 2L, 2L, 2L), () -> counted(executions));
+
+        //then
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(TooManyRequestsException.class);
+        assertThat(executions.get()).isZero();
+        admissionControl.admit(1L, () -> counted(executions)).join();
+        admissionControl.admit(1L, () -> counted(executions)).join();
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("일괄 처리 요청은 함께 처리되는 유저 수만큼 동시 처리 수를 차지한다")
+    public void admitAll_ShouldHoldPermitsPerUser() {
+        //given
+        AdmissionControl admissionControl = new AdmissionControl(pointMetrics, 0, 1, 1024, 3);
+        CompletableFuture<UserPoint> batch = new CompletableFuture<>();
+        admissionControl.admitAll(List.of(1L, 2L, 1L), () -> batch);
+
+        //when
+        CompletableFuture<UserPoint> admitted = admissionControl.admit(3L, () -> new CompletableFuture<>());
+        CompletableFuture<UserPoint> rejected = admissionControl.admit(4L, () -> counted(new AtomicInteger()));
+        batch.complete(new UserPoint(1L, 0L, 0L));
+        CompletableFuture<UserPoint> afterBatch = admissionControl.admit(4L, () -> counted(new AtomicInteger()));
+
+        //then
+        assertThat(admitted).isNotDone();
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(TooManyRequestsException.class);
+        assertThat(afterBatch.join().point()).isEqualTo(100L);
+    }
+
+    private static CompletableFuture<UserPoint> counted(AtomicInteger executions) {
+        executions.incrementAndGet();
+        return CompletableFuture.completedFuture(new UserPoint(1L, 100L, 0L));
+    }
+}
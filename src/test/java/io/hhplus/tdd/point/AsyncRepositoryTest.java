@@ -0,0 +1,95 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.repository.ExecutorAsyncPointHistoryRepository;
+import io.hhplus.tdd.point.repository.ExecutorAsyncUserPointRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.RepositoryExecutor;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.*;
+
+class AsyncRepositoryTest {
+
+    @Mock
+    private UserPointRepository userPointRepository;
+
+    @Mock
+    private PointHistoryRepository pointHistoryRepository;
+
+    private RepositoryExecutor repositoryExecutor;
+    private ExecutorAsyncUserPointRepository asyncUserPointRepository;
+    private ExecutorAsyncPointHistoryRepository asyncPointHistoryRepository;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        repositoryExecutor = new RepositoryExecutor(2, 10);
+        asyncUserPointRepository = new ExecutorAsyncUserPointRepository(userPointRepository, repositoryExecutor);
+        asyncPointHistoryRepository = new ExecutorAsyncPointHistoryRepository(pointHistoryRepository, repositoryExecutor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        repositoryExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("저장소 호출은 호출한 스레드가 아닌 저장소 실행기에서 실행된다")
+    public void selectById_ShouldRunOnRepositoryExecutor() {
+        //given
+        AtomicReference<String> threadName = new AtomicReference<>();
+        given(userPointRepository.selectById(eq(1L))).willAnswer(invocation -> {
+            threadName.set(Thread.currentThread().getName());
+            return new UserPoint(1L, 100L, 0L);
+        });
+
+        //when
+        UserPoint userPoint = asyncUserPointRepository.selectById(1L).join();
+
+        //then
+        assertThat(userPoint.point()).isEqualTo(100L);
+        assertThat(threadName.get()).startsWith("point-repository-");
+    }
+
+    @Test
+    @DisplayName("저장소에서 발생한 예외는 실패한 future 로 전달된다")
+    public void insertOrUpdate_ShouldFailFuture_WhenRepositoryThrows() {
+        //given
+        given(userPointRepository.insertOrUpdate(eq(1L), eq(100L))).willThrow(new IllegalStateException("저장 실패"));
+
+        //when
+        CompletableFuture<UserPoint> result = asyncUserPointRepository.insertOrUpdate(1L, 100L);
+
+        //then
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("내역 조회 결과를 그대로 돌려준다")
+    public void selectAllByUserId_ShouldReturnRepositoryResult() {
+        //given
+        List<PointHistory> histories = List.of(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 0L));
+        given(pointHistoryRepository.selectAllByUserId(eq(1L))).willReturn(histories);
+
+        //when
+        List<PointHistory> result = asyncPointHistoryRepository.selectAllByUserId(1L).join();
+
+        //then
+        assertThat(result).isEqualTo(histories);
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.service.CasPointService;
+import io.hhplus.tdd.point.service.PointService;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+        "point.concurrency.mode=cas",
+        "point.history.writer.durability=ack-after-enqueue",
+        "point.history.writer.queue-capacity=100000"
+})
+class CasPointConcurrencyTest extends ModePointConcurrencyTest {
+
+    @Override
+    Class<? extends PointService> expectedServiceType() {
+        return CasPointService.class;
+    }
+}
@@ -0,0 +1,92 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.lock.RefCountedUserLockRegistry;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.ExecutorAsyncPointHistoryRepository;
+import io.hhplus.tdd.point.repository.ExecutorAsyncUserPointRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryWriter;
+import io.hhplus.tdd.point.repository.RepositoryExecutor;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.service.CasPointService;
+import io.hhplus.tdd.point.service.PointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.*;
+
+class CasPointServiceTest {
+
+    @Mock
+    private UserPointRepository userPointTable;
+
+    @Mock
+    private PointHistoryRepository pointHistoryTable;
+
+    private CasPointService pointService;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        given(userPointTable.selectById(anyLong()))
+                .willAnswer(invocation -> UserPoint.empty(invocation.getArgument(0, Long.class)));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .willAnswer(invocation -> new UserPoint(invocation.getArgument(0, Long.class), invocation.getArgument(1, Long.class), 0L));
+
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(
+                pointHistoryTable, PointHistoryWriter.Durability.ACK_AFTER_COMMIT, 1, 1000, 100);
+        RepositoryExecutor repositoryExecutor = new RepositoryExecutor(8, 100);
+        pointService = new CasPointService(
+                userPointTable, pointHistoryTable,
+                new ExecutorAsyncUserPointRepository(userPointTable, repositoryExecutor),
+                new ExecutorAsyncPointHistoryRepository(pointHistoryTable, repositoryExecutor),
+                pointHistoryWriter, new RefCountedUserLockRegistry(60_000L),
+                new PointMetrics(new SimpleMeterRegistry()), 20L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pointService.shutdown();
+    }
+
+    @Test
+    @DisplayName("한 유저의 잔고 저장이 실패해도 다른 유저는 저장되고, 실패한 유저는 다음 주기에 다시 저장된다")
+    public void flush_ShouldRetryFailedUser_AndContinueWithOthers() {
+        //given
+        given(userPointTable.insertOrUpdate(eq(1L), eq(100L)))
+                .willThrow(new IllegalStateException("저장 실패"))
+                .willReturn(new UserPoint(1L, 100L, 0L));
+
+        //when
+        pointService.chargePoint(1L, 100L);
+        pointService.chargePoint(2L, 100L);
+
+        //then
+        verify(userPointTable, timeout(2_000)).insertOrUpdate(2L, 100L);
+        verify(userPointTable, timeout(2_000).times(2)).insertOrUpdate(1L, 100L);
+    }
+
+    @Test
+    @DisplayName("한 번에 처리할 수 있는 건수를 넘는 일괄 요청은 거절한다")
+    public void execute_ShouldReject_WhenOverMaxBulkSize() {
+        //given
+        List<PointCommand> commands = Collections.nCopies(PointService.MAX_BULK_SIZE + 1,
+                new PointCommand(1L, TransactionType.CHARGE, 1L));
+
+        //when
+        //then
+        assertThrows(PointException.class, () -> pointService.execute(commands));
+        verify(userPointTable, never()).selectById(anyLong());
+    }
+}
@@ -0,0 +1,134 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.ColumnarPointHistoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarPointHistoryRepositoryTest {
+
+    // chunk 경계를 자주 넘도록 작게 잡는다
+    private static final int CHUNK_ROWS = 16;
+
+    private ColumnarPointHistoryRepository pointHistoryRepository;
+
+    @BeforeEach
+    public void setup() {
+        pointHistoryRepository = new ColumnarPointHistoryRepository(new PointMetrics(new SimpleMeterRegistry()), CHUNK_ROWS);
+    }
+
+    @Test
+    @DisplayName("저장한 값이 chunk 경계를 넘어도 그대로 조회된다")
+    public void selectAllByUserId_ShouldReturnStoredValues_AcrossChunks() {
+        //given
+        for (int i = 0; i < 100; i++) {
+            pointHistoryRepository.insert(i % 2 == 0 ? 1L : 2L, i, i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE, 1_000L + i);
+        }
+
+        //when
+        List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(1L);
+
+        //then
+        assertThat(histories).hasSize(50);
+        assertThat(histories.get(3)).isEqualTo(new PointHistory(7L, 1L, 6L, TransactionType.USE, 1_006L));
+        assertThat(histories).allMatch(history -> history.userId() == 1L);
+        assertThat(histories).extracting(PointHistory::id).isSorted();
+    }
+
+    @Test
+    @DisplayName("insert 는 부여된 id 와 함께 저장한 내역을 반환한다")
+    public void insert_ShouldReturnStoredHistory() {
+        //when
+        PointHistory first = pointHistoryRepository.insert(1L, 100L, TransactionType.CHARGE, 10L);
+        PointHistory second = pointHistoryRepository.insert(2L, 50L, TransactionType.USE, 20L);
+
+        //then
+        assertThat(first).isEqualTo(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 10L));
+        assertThat(second).isEqualTo(new PointHistory(2L, 2L, 50L, TransactionType.USE, 20L));
+    }
+
+    @Test
+    @DisplayName("afterId 이후의 내역을 limit 만큼 조회한다")
+    public void selectByUserIdAfter_ShouldReturnPage() {
+        //given
+        for (int i = 0; i < 40; i++) {
+            pointHistoryRepository.insert(1L, i, TransactionType.CHARGE, i);
+        }
+
+        //when
+        List<PointHistory> page = pointHistoryRepository.selectByUserIdAfter(1L, 10L, 5);
+
+        //then
+        assertThat(page).extracting(PointHistory::id).containsExactly(11L, 12L, 13L, 14L, 15L);
+    }
+
+    @Test
+    @DisplayName("기간 조건에 맞는 내역만 조회한다")
+    public void selectByUserIdBetween_ShouldFilterByMillis() {
+        //given
+        for (int i = 0; i < 40; i++) {
+            pointHistoryRepository.insert(1L, i, TransactionType.CHARGE, i * 10L);
+        }
+
+        //when
+        List<PointHistory> page = pointHistoryRepository.selectByUserIdBetween(1L, 100L, 150L, 0L, 100);
+
+        //then
+        assertThat(page).extracting(PointHistory::updateMillis).containsExactly(100L, 110L, 120L, 130L, 140L, 150L);
+    }
+
+    @Test
+    @DisplayName("조회 이후에 추가된 내역은 이전 조회 결과에 영향을 주지 않는다")
+    public void selectAllByUserId_ShouldNotChange_AfterInsert() {
+        //given
+        pointHistoryRepository.insert(1L, 100L, TransactionType.CHARGE, 0L);
+        List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(1L);
+
+        //when
+        pointHistoryRepository.insert(1L, 50L, TransactionType.USE, 1L);
+
+        //then
+        assertThat(histories).hasSize(1);
+        assertThat(pointHistoryRepository.selectAllByUserId(1L)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("동시에 저장해도 유저별 내역이 모두 남는다")
+    public void insert_ShouldKeepAllRows_WhenConcurrent() throws InterruptedException {
+        //given
+        int threadCount = 8;
+        int insertsPerThread = 1_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        //when
+        for (int t = 0; t < threadCount; t++) {
+            long userId = t % 2;
+            executorService.submit(() -> {
+                try {
+                    for (int i = 0; i < insertsPerThread; i++) {
+                        pointHistoryRepository.insert(userId, 1L, TransactionType.CHARGE, i);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        //then
+        assertThat(pointHistoryRepository.selectAllByUserId(0L)).hasSize(threadCount / 2 * insertsPerThread);
+        assertThat(pointHistoryRepository.selectAllByUserId(1L)).hasSize(threadCount / 2 * insertsPerThread);
+        assertThat(pointHistoryRepository.selectAllByUserId(0L)).extracting(PointHistory::id).isSorted();
+    }
+}
@@ -0,0 +1,151 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.lock.RefCountedUserLockRegistry;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.ExecutorAsyncPointHistoryRepository;
+import io.hhplus.tdd.point.repository.ExecutorAsyncUserPointRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryWriter;
+import io.hhplus.tdd.point.repository.RepositoryExecutor;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.service.CombiningPointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.*;
+
+class CombiningPointServiceTest {
+
+    private static final long USER_ID = 1L;
+
+    @Mock
+    private UserPointRepository userPointTable;
+
+    @Mock
+    private PointHistoryRepository pointHistoryTable;
+
+    private CombiningPointService pointService;
+
+    private final Map<Long, UserPoint> balances = new ConcurrentHashMap<>();
+
+    // 첫 잔고 저장을 막아 두어 그동안 들어온 요청이 대기열에 쌓이게 한다
+    private final CountDownLatch firstWrite = new CountDownLatch(1);
+
+    private ExecutorService executorService;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        given(userPointTable.selectById(anyLong())).willAnswer(invocation -> {
+            long id = invocation.getArgument(0, Long.class);
+            return balances.getOrDefault(id, UserPoint.empty(id));
+        });
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong())).willAnswer(invocation -> {
+            firstWrite.await(5, TimeUnit.SECONDS);
+            long id = invocation.getArgument(0, Long.class);
+            UserPoint userPoint = new UserPoint(id, invocation.getArgument(1, Long.class), System.currentTimeMillis());
+            balances.put(id, userPoint);
+            return userPoint;
+        });
+
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(
+                pointHistoryTable, PointHistoryWriter.Durability.ACK_AFTER_COMMIT, 1, 1000, 100);
+        RepositoryExecutor repositoryExecutor = new RepositoryExecutor(8, 100);
+        pointService = new CombiningPointService(
+                userPointTable, pointHistoryTable,
+                new ExecutorAsyncUserPointRepository(userPointTable, repositoryExecutor),
+                new ExecutorAsyncPointHistoryRepository(pointHistoryTable, repositoryExecutor),
+                pointHistoryWriter, new RefCountedUserLockRegistry(60_000L),
+                new PointMetrics(new SimpleMeterRegistry()), 256);
+        executorService = Executors.newFixedThreadPool(100);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executorService.shutdown();
+        pointService.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 유저에게 동시에 들어온 충전은 합쳐서 잔고를 한 번에 저장한다")
+    public void chargePoint_ShouldCombineConcurrentRequests() throws Exception {
+        //given
+        int requestCount = 100;
+
+        //when
+        List<Future<UserPoint>> results = new ArrayList<>();
+        for (int i = 0; i < requestCount; i++) {
+            results.add(executorService.submit(() -> pointService.chargePoint(USER_ID, 10L)));
+        }
+        Thread.sleep(200);
+        firstWrite.countDown();
+
+        //then
+        List<Long> points = new ArrayList<>();
+        for (Future<UserPoint> result : results) {
+            points.add(result.get(5, TimeUnit.SECONDS).point());
+        }
+        // 요청마다 자기 순서까지 적용된 잔고를 받는다
+        assertThat(points).doesNotHaveDuplicates().contains(1_000L);
+        assertThat(pointService.getPoint(USER_ID).point()).isEqualTo(1_000L);
+        verify(userPointTable, atMost(10)).insertOrUpdate(eq(USER_ID), anyLong());
+        verify(pointHistoryTable, times(requestCount)).insert(eq(USER_ID), eq(10L), eq(TransactionType.CHARGE), anyLong());
+    }
+
+    @Test
+    @DisplayName("합쳐서 처리할 때 검증에 실패한 요청만 PointException 을 받는다")
+    public void usePoint_ShouldFailOnlyInvalidRequest_WhenCombined() throws Exception {
+        //given
+        Future<UserPoint> charge = executorService.submit(() -> pointService.chargePoint(USER_ID, 100L));
+        Thread.sleep(100);
+
+        //when
+        Future<UserPoint> tooMuch = executorService.submit(() -> pointService.usePoint(USER_ID, 500L));
+        Future<UserPoint> use = executorService.submit(() -> pointService.usePoint(USER_ID, 50L));
+        Future<UserPoint> chargeMore = executorService.submit(() -> pointService.chargePoint(USER_ID, 20L));
+        Thread.sleep(100);
+        firstWrite.countDown();
+
+        //then
+        assertThat(charge.get(5, TimeUnit.SECONDS).point()).isEqualTo(100L);
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> tooMuch.get(5, TimeUnit.SECONDS));
+        assertThat(exception.getCause()).isInstanceOf(PointException.class);
+        use.get(5, TimeUnit.SECONDS);
+        chargeMore.get(5, TimeUnit.SECONDS);
+        assertThat(pointService.getPoint(USER_ID).point()).isEqualTo(70L);
+        verify(pointHistoryTable, never()).insert(eq(USER_ID), eq(500L), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("잔고 저장이 실패하면 합쳐진 요청이 모두 같은 예외를 받는다")
+    public void chargePoint_ShouldFailAll_WhenWriteFails() {
+        //given
+        firstWrite.countDown();
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong())).willThrow(new IllegalStateException("저장 실패"));
+
+        //when
+        //then
+        assertThrows(IllegalStateException.class, () -> pointService.chargePoint(USER_ID, 100L));
+        assertThat(pointService.getPoint(USER_ID).point()).isEqualTo(0L);
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+    }
+}
@@ -0,0 +1,86 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.cluster.ClusterNode;
+import io.hhplus.tdd.point.cluster.ConsistentHashRing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+    private static final int USER_COUNT = 30_000;
+
+    private static final ClusterNode NODE_1 = new ClusterNode("node-1", "http://localhost:8081");
+    private static final ClusterNode NODE_2 = new ClusterNode("node-2", "http://localhost:8082");
+    private static final ClusterNode NODE_3 = new ClusterNode("node-3", "http://localhost:8083");
+    private static final ClusterNode NODE_4 = new ClusterNode("node-4", "http://localhost:8084");
+
+    @Test
+    @DisplayName("유저가 노드 사이에 고르게 나뉜다")
+    public void ownerOf_ShouldSpreadUsersEvenly() {
+        //given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(NODE_1, NODE_2, NODE_3), 128);
+
+        //when
+        Map<ClusterNode, Integer> counts = new HashMap<>();
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            counts.merge(ring.ownerOf(userId), 1, Integer::sum);
+        }
+
+        //then
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(USER_COUNT / 4, USER_COUNT / 2));
+    }
+
+    @Test
+    @DisplayName("노드 목록의 순서가 달라도 같은 담당 노드를 고른다")
+    public void ownerOf_ShouldNotDependOnNodeOrder() {
+        //given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(NODE_1, NODE_2, NODE_3), 128);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of(NODE_3, NODE_1, NODE_2), 128);
+
+        //when
+        //then
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            assertThat(reordered.ownerOf(userId)).isEqualTo(ring.ownerOf(userId));
+        }
+    }
+
+    @Test
+    @DisplayName("노드가 추가되면 새 노드가 맡는 유저만 담당 노드가 바뀐다")
+    public void ownerOf_ShouldMoveOnlyUsersOfAddedNode() {
+        //given
+        ConsistentHashRing before = new ConsistentHashRing(List.of(NODE_1, NODE_2, NODE_3), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of(NODE_1, NODE_2, NODE_3, NODE_4), 128);
+
+        //when
+        int moved = 0;
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            ClusterNode owner = after.ownerOf(userId);
+            if (!owner.equals(before.ownerOf(userId))) {
+                //then
+                assertThat(owner).isEqualTo(NODE_4);
+                moved++;
+            }
+        }
+        assertThat(moved).isBetween(USER_COUNT / 8, USER_COUNT / 3);
+    }
+
+    @Test
+    @DisplayName("순서만 다른 노드 목록은 같은 노드로 본다")
+    public void hasSameNodes_ShouldIgnoreOrder() {
+        //given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(NODE_1, NODE_2, NODE_3), 128);
+
+        //when
+        //then
+        assertThat(ring.hasSameNodes(List.of(NODE_3, NODE_1, NODE_2))).isTrue();
+        assertThat(ring.hasSameNodes(List.of(NODE_1, NODE_2))).isFalse();
+        assertThat(ring.hasSameNodes(List.of(NODE_1, NODE_2, NODE_4))).isFalse();
+    }
+}
@@ -0,0 +1,168 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.idempotency.IdempotencyCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyCacheTest {
+
+    private static final long USER_ID = 1L;
+
+    @Test
+    @DisplayName("같은 키로 동시에 들어온 요청은 한 번만 실행되고 같은 결과를 받는다")
+    public void execute_ShouldRunOnce_WhenConcurrentDuplicates() throws Exception {
+        //given
+        IdempotencyCache cache = new IdempotencyCache(60_000L, 100);
+        AtomicInteger executions = new AtomicInteger();
+        int threadCount = 16;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when
+        List<Future<UserPoint>> results = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            results.add(executorService.submit(() -> {
+                start.await();
+                return cache.execute(USER_ID, TransactionType.CHARGE, 100L, "key", () -> CompletableFuture.supplyAsync(() -> {
+                    executions.incrementAndGet();
+                    return new UserPoint(USER_ID, 100L, 0L);
+                })).join();
+            }));
+        }
+        start.countDown();
+
+        //then
+        for (Future<UserPoint> result : results) {
+            assertThat(result.get().point()).isEqualTo(100L);
+        }
+        assertThat(executions.get()).isEqualTo(1);
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("업무상 실패도 기억해서 재시도 시 다시 실행하지 않는다")
+    public void execute_ShouldReplayPointException() {
+        //given
+        IdempotencyCache cache = new IdempotencyCache(60_000L, 100);
+        AtomicInteger executions = new AtomicInteger();
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<UserPoint> result = cache.execute(USER_ID, TransactionType.USE, 100L, "key", () -> {
+                executions.incrementAndGet();
+                return CompletableFuture.failedFuture(new PointException("잔액이 부족합니다."));
+            });
+
+            //then
+            assertThatThrownBy(result::join)
+                    .isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(PointException.class);
+        }
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("그 밖의 실패는 기억하지 않고 다시 실행한다")
+    public void execute_ShouldRetry_WhenUnexpectedFailure() {
+        //given
+        IdempotencyCache cache = new IdempotencyCache(60_000L, 100);
+        AtomicInteger executions = new AtomicInteger();
+
+        //when
+        cache.execute(USER_ID, TransactionType.CHARGE, 100L, "key",
+                () -> CompletableFuture.failedFuture(new IllegalStateException("timeout")));
+        UserPoint userPoint = cache.execute(USER_ID, TransactionType.CHARGE, 100L, "key", () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(new UserPoint(USER_ID, 100L, 0L));
+        }).join();
+
+        //then
+        assertThat(userPoint.point()).isEqualTo(100L);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 금액을 요청하면 실패한다")
+    public void execute_ShouldReject_WhenAmountDiffers() {
+        //given
+        IdempotencyCache cache = new IdempotencyCache(60_000L, 100);
+        cache.execute(USER_ID, TransactionType.CHARGE, 100L, "key",
+                () -> CompletableFuture.completedFuture(new UserPoint(USER_ID, 100L, 0L)));
+
+        //when
+        CompletableFuture<UserPoint> result = cache.execute(USER_ID, TransactionType.CHARGE, 200L, "key",
+                () -> CompletableFuture.completedFuture(new UserPoint(USER_ID, 300L, 0L)));
+
+        //then
+        assertThatThrownBy(result::join).hasCauseInstanceOf(PointException.class);
+    }
+
+    @Test
+    @DisplayName("키는 유저와 거래 종류별로 따로 관리된다")
+    public void execute_ShouldScopeKeyByUserAndType() {
+        //given
+        IdempotencyCache cache = new IdempotencyCache(60_000L, 100);
+        AtomicInteger executions = new AtomicInteger();
+
+        //when
+        cache.execute(1L, TransactionType.CHARGE, 100L, "key", () -> counted(executions));
+        cache.execute(2L, TransactionType.CHARGE, 100L, "key", () -> counted(executions));
+        cache.execute(1L, TransactionType.USE, 100L, "key", () -> counted(executions));
+
+        //then
+        assertThat(executions.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("TTL 이 지난 키는 다시 실행한다")
+    public void execute_ShouldRunAgain_AfterTtl() throws InterruptedException {
+        //given
+        IdempotencyCache cache = new IdempotencyCache(1L, 100);
+        AtomicInteger executions = new AtomicInteger();
+        cache.execute(USER_ID, TransactionType.CHARGE, 100L, "key", () -> counted(executions));
+
+        //when
+        Thread.sleep(10);
+        cache.execute(USER_ID, TransactionType.CHARGE, 100L, "key", () -> counted(executions));
+
+        //then
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 가장 오래된 키부터 잊는다")
+    public void execute_ShouldEvictOldest_WhenFull() {
+        //given
+        IdempotencyCache cache = new IdempotencyCache(60_000L, 2);
+        AtomicInteger executions = new AtomicInteger();
+        cache.execute(USER_ID, TransactionType.CHARGE, 100L, "a", () -> counted(executions));
+        cache.execute(USER_ID, TransactionType.CHARGE, 100L, "b", () -> counted(executions));
+        cache.execute(USER_ID, TransactionType.CHARGE, 100L, "c", () -> counted(executions));
+
+        //when
+        cache.execute(USER_ID, TransactionType.CHARGE, 100L, "c", () -> counted(executions));
+        cache.execute(USER_ID, TransactionType.CHARGE, 100L, "a", () -> counted(executions));
+
+        //then
+        assertThat(executions.get()).isEqualTo(4);
+    }
+
+    private static CompletableFuture<UserPoint> counted(AtomicInteger executions) {
+        executions.incrementAndGet();
+        return CompletableFuture.completedFuture(new UserPoint(USER_ID, 100L, 0L));
+    }
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.service.PointService;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+        "point.concurrency.mode=lock",
+        // 수천 개 스레드가 한 유저의 락을 기다리므로 락 대기 시간 초과(429)로 실패하지 않게 늘린다
+        "point.lock.wait-timeout-ms=60000",
+        "point.history.writer.durability=ack-after-enqueue",
+        "point.history.writer.queue-capacity=100000"
+})
+class LockPointConcurrencyTest extends ModePointConcurrencyTest {
+
+    @Override
+    Class<? extends PointService> expectedServiceType() {
+        return PointService.class;
+    }
+}
@@ -0,0 +1,116 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.service.PointService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시성 모드(point.concurrency.mode)마다 같은 시나리오를 같은 조건에서 실행한다.
+ * 모드별 하위 클래스는 @SpringBootTest 로 모드를 정하고 선택되어야 하는 PointService 구현만 알려준다.
+ * 모든 모드에 아래 설정을 함께 준다.
+ * - point.history.writer.durability=ack-after-enqueue
+ * - point.history.writer.queue-capacity=100000
+ */
+abstract class ModePointConcurrencyTest extends PointConcurrencyTest {
+
+    private static final int THREADS = 2000;
+
+    @Autowired
+    private PointService pointService;
+
+    private ExecutorService executorService;
+
+    abstract Class<? extends PointService> expectedServiceType();
+
+    @BeforeEach
+    void startExecutor() {
+        executorService = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void stopExecutor() {
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("설정한 동시성 모드의 PointService 가 선택된다")
+    void testModeSelected() {
+        assertThat(pointService.getClass()).isEqualTo(expectedServiceType());
+    }
+
+    @Test
+    @DisplayName("2000개 스레드가 동시에 충전한 뒤 동시에 사용하면 잔고가 정확히 맞는다")
+    void testConcurrentChargeThenUse() throws Exception {
+        long userId = 100L;
+
+        runConcurrently(THREADS, () -> pointService.chargePoint(userId, 5));
+        assertThat(pointService.getPoint(userId).point()).isEqualTo(10_000L);
+
+        runConcurrently(THREADS, () -> pointService.usePoint(userId, 5));
+        assertThat(pointService.getPoint(userId).point()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("최대 잔고를 넘는 동시 충전은 넘는 만큼만 실패한다")
+    void testConcurrentChargeOverMaxBalance() throws Exception {
+        long userId = 200L;
+        AtomicInteger failures = new AtomicInteger();
+
+        runConcurrently(3000, () -> {
+            try {
+                pointService.chargePoint(userId, 5);
+            } catch (PointException e) {
+                failures.incrementAndGet();
+            }
+        });
+
+        assertThat(failures.get()).isEqualTo(1000);
+        assertThat(pointService.getPoint(userId).point()).isEqualTo(10_000L);
+    }
+
+    @Test
+    @DisplayName("잔고보다 많은 동시 사용은 잔고만큼만 성공한다")
+    void testConcurrentUseOverBalance() throws Exception {
+        long userId = 300L;
+        pointService.chargePoint(userId, 1_000L);
+        AtomicInteger failures = new AtomicInteger();
+
+        runConcurrently(THREADS, () -> {
+            try {
+                pointService.usePoint(userId, 1);
+            } catch (PointException e) {
+                failures.incrementAndGet();
+            }
+        });
+
+        assertThat(failures.get()).isEqualTo(THREADS - 1_000);
+        assertThat(pointService.getPoint(userId).point()).isEqualTo(0L);
+    }
+
+    private void runConcurrently(int count, Runnable task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            results.add(executorService.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.point.cluster.PointRouter;
+import io.hhplus.tdd.point.service.PointService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 한 JVM 안에 노드 두 개를 띄우고 loopback 으로 요청을 주고받는다.
+ */
+class PointClusterTest {
+
+    private static ConfigurableApplicationContext node1;
+    private static ConfigurableApplicationContext node2;
+    private static int port1;
+    private static int port2;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        port1 = freePort();
+        port2 = freePort();
+        String nodes = "node-1=http://localhost:" + port1 + ",node-2=http://localhost:" + port2;
+        node1 = start("node-1", port1, nodes);
+        node2 = start("node-2", port2, nodes);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        node1.close();
+        node2.close();
+    }
+
+    @Test
+    @DisplayName("담당이 아닌 노드에 들어온 충전은 담당 노드의 잔고에 반영된다")
+    public void charge_ShouldBeAppliedOnOwnerNode() throws Exception {
+        //given
+        PointRouter router = node1.getBean(PointRouter.class);
+        long remoteUserId = ownedBy(router, "node-2");
+
+        //when
+        HttpResponse<String> response = send(port1, "PATCH", "/point/" + remoteUserId + "/charge", "500");
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(node2.getBean(PointService.class).getPoint(remoteUserId).point()).isEqualTo(500L);
+        assertThat(node1.getBean(PointService.class).getPoint(remoteUserId).point()).isEqualTo(0L);
+        assertThat(send(port1, "GET", "/point/" + remoteUserId, null).body()).contains("\"point\":500");
+    }
+
+    @Test
+    @DisplayName("두 노드에 동시에 들어온 같은 유저의 충전/사용이 한 노드에서 순서대로 처리된다")
+    public void chargeAndUse_ShouldNotLoseUpdates_WhenSentToBothNodes() throws Exception {
+        //given
+        PointRouter router = node1.getBean(PointRouter.class);
+        long userId = ownedBy(router, "node-1");
+        send(port2, "PATCH", "/point/" + userId + "/charge", "5000");
+
+        //when
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            responses.add(sendAsync(i % 2 == 0 ? port1 : port2, "/point/" + userId + "/use", "100"));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertThat(response.get().statusCode()).isEqualTo(200);
+        }
+
+        //then
+        assertThat(node1.getBean(PointService.class).getPoint(userId).point()).isEqualTo(0L);
+        assertThat(send(port2, "PATCH", "/point/" + userId + "/use", "100").statusCode()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 담당하는 유저에게는 이체할 수 없다")
+    public void transfer_ShouldReject_WhenUsersOwnedByDifferentNodes() throws Exception {
+        //given
+        PointRouter router = node1.getBean(PointRouter.class);
+        long fromUserId = ownedBy(router, "node-1");
+        long toUserId = ownedBy(router, "node-2");
+        send(port1, "PATCH", "/point/" + fromUserId + "/charge", "1000");
+
+        //when
+        HttpResponse<String> response = send(port2, "POST", "/point/transfer",
+                "{\"fromUserId\":" + fromUserId + ",\"toUserId\":" + toUserId + ",\"amount\":100}");
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(503);
+        assertThat(node1.getBean(PointService.class).getPoint(fromUserId).point()).isEqualTo(1000L);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 담당하는 유저가 섞인 일괄 처리는 503 으로 거절한다")
+    public void batch_ShouldReject_WhenUsersOwnedByDifferentNodes() throws Exception {
+        //given
+        PointRouter router = node1.getBean(PointRouter.class);
+        long localUserId = ownedBy(router, "node-1");
+        long remoteUserId = ownedBy(router, "node-2");
+
+        //when
+        HttpResponse<String> response = send(port1, "POST", "/point/batch",
+                "[{\"userId\":" + localUserId + ",\"type\":\"CHARGE\",\"amount\":100},"
+                        + "{\"userId\":" + remoteUserId + ",\"type\":\"CHARGE\",\"amount\":100}]");
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(503);
+        assertThat(node1.getBean(PointService.class).getPoint(localUserId).point()).isZero();
+    }
+
+    @Test
+    @DisplayName("노드 목록에 없는 id 가 적힌 전달 헤더는 무시하고 담당 노드로 넘긴다")
+    public void charge_ShouldForward_WhenForwardedHeaderIsUnknown() throws Exception {
+        //given
+        PointRouter router = node1.getBean(PointRouter.class);
+        long remoteUserId = ownedBy(router, "node-2");
+
+        //when
+        HttpResponse<String> response = send(port1, "PATCH", "/point/" + remoteUserId + "/charge", "500", "node-x");
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(node2.getBean(PointService.class).getPoint(remoteUserId).point()).isEqualTo(500L);
+        assertThat(node1.getBean(PointService.class).getPoint(remoteUserId).point()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 넘긴 요청이라도 이 노드가 담당이 아니면 처리하지 않고 503 을 응답한다")
+    public void charge_ShouldReject_WhenForwardedToNonOwner() throws Exception {
+        //given
+        PointRouter router = node1.getBean(PointRouter.class);
+        long remoteUserId = ownedBy(router, "node-2");
+
+        //when
+        HttpResponse<String> response = send(port1, "PATCH", "/point/" + remoteUserId + "/charge", "500", "node-2");
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(503);
+        assertThat(node1.getBean(PointService.class).getPoint(remoteUserId).point()).isEqualTo(0L);
+        assertThat(node2.getBean(PointService.class).getPoint(remoteUserId).point()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("여러 유저의 잔고 조회는 담당 노드별로 나누어 각 노드의 잔고를 응답한다")
+    public void balances_ShouldReadEachUserFromOwnerNode() throws Exception {
+        //given
+        PointRouter router = node1.getBean(PointRouter.class);
+        long localUserId = ownedBy(router, "node-1");
+        long remoteUserId = ownedBy(router, "node-2");
+        send(port1, "PATCH", "/point/" + localUserId + "/charge", "100");
+        send(port1, "PATCH", "/point/" + remoteUserId + "/charge", "200");
+
+        //when
+        HttpResponse<String> response = send(port1, "POST", "/point/balances",
+                "[" + remoteUserId + "," + localUserId + "," + remoteUserId + "]");
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body())
+                .matches("\\[\\{\"id\":" + remoteUserId + ",\"point\":200,.*\\},\\{\"id\":" + localUserId + ",\"point\":100,.*\\}]");
+    }
+
+    @Test
+    @DisplayName("담당이 아닌 노드에 들어온 내역/요약 조회는 담당 노드의 내역으로 응답하고, 스트리밍은 거절한다")
+    public void histories_ShouldBeReadFromOwnerNode() throws Exception {
+        //given
+        PointRouter router = node1.getBean(PointRouter.class);
+        long remoteUserId = ownedBy(router, "node-2");
+        send(port1, "PATCH", "/point/" + remoteUserId + "/charge", "300");
+
+        //when
+        HttpResponse<String> histories = send(port1, "GET", "/point/" + remoteUserId + "/histories?limit=10", null);
+        HttpResponse<String> summary = send(port1, "GET", "/point/" + remoteUserId + "/summary", null);
+        HttpResponse<String> stream = send(port1, "GET", "/point/" + remoteUserId + "/histories/stream", null);
+
+        //then
+        assertThat(histories.statusCode()).isEqualTo(200);
+        assertThat(histories.body()).contains("\"userId\":" + remoteUserId).contains("\"amount\":300");
+        assertThat(summary.statusCode()).isEqualTo(200);
+        assertThat(summary.body()).contains("\"count\":1");
+        assertThat(stream.statusCode()).isNotEqualTo(200);
+    }
+
+    private static ConfigurableApplicationContext start(String self, int port, String nodes) {
+        return new SpringApplicationBuilder(TddApplication.class)
+                .properties(
+                        "server.port=" + port,
+                        "point.cluster.enabled=true",
+                        "point.cluster.self=" + self,
+                        "point.cluster.nodes=" + nodes)
+                .run();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // 테스트마다 다른 유저를 쓰도록 아직 잔고가 없는 유저 중에서 고른다
+    private static long ownedBy(PointRouter router, String nodeId) {
+        long userId = System.nanoTime() % 1_000_000L + 1_000L;
+        while (!router.ownerOf(userId).id().equals(nodeId)) {
+            userId++;
+        }
+        return userId;
+    }
+
+    private HttpResponse<String> send(int port, String method, String path, String body) throws Exception {
+        return httpClient.send(request(port, method, path, body), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> send(int port, String method, String path, String body, String forwardedBy) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(request(port, method, path, body), (name, value) -> true)
+                .header(PointRouter.FORWARDED_HEADER, forwardedBy)
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private CompletableFuture<HttpResponse<String>> sendAsync(int port, String path, String body) {
+        return httpClient.sendAsync(request(port, "PATCH", path, body), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest request(int port, String method, String path, String body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+}
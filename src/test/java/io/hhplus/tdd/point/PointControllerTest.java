@@ -1,30 +1,47 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.point.admission.AdmissionControl;
+import io.hhplus.tdd.point.exception.TooManyRequestsException;
+import io.hhplus.tdd.point.idempotency.IdempotencyCache;
 import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.filter.CharacterEncodingFilter;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PointController.class)
+@Import({IdempotencyCache.class, PointRequestHandler.class})
 class PointControllerTest {
 
     static final long USER_ID = 1L;
@@ -40,6 +57,12 @@ class PointControllerTest {
     @MockBean
     private PointService pointService;
 
+    @MockBean
+    private AdmissionControl admissionControl;
+
+    @MockBean
+    private PointSummaryAggregator pointSummaryAggregator;
+
     @Autowired
     WebApplicationContext ctx;
 
@@ -51,6 +74,9 @@ class PointControllerTest {
                 .addFilter(new CharacterEncodingFilter("UTF-8", true))
                 .alwaysDo(print())
                 .build();
+        // 기본적으로 모든 요청을 통과시킨다
+        given(admissionControl.admit(anyLong(), any())).willAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        given(admissionControl.admitAll(any(), any())).willAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
     }
 
     @Test
@@ -65,27 +91,83 @@ class PointControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(USER_ID))
                 .andExpect(jsonPath("$.point").value(0L))
-                .andExpect(jsonPath("$.updateMillis").value(0L));
+                .andExpect(jsonPath("$.updateMillis").value(0L))
+                .andExpect(header().string("ETag", PointService.eTagOf(userPoint)));
         verify(pointService).getPoint(USER_ID);
     }
 
+    @Test
+    @DisplayName("잔고가 바뀌지 않았으면 본문 없이 304 를 응답한다")
+    public void testGetPoint_NotModified() throws Exception {
+        //given
+        UserPoint userPoint = new UserPoint(USER_ID, 500L, 1_000L);
+        given(pointService.getPoint(USER_ID)).willReturn(userPoint);
+
+        //when
+        //then
+        mvc.perform(get("/point/{id}", USER_ID).header("If-None-Match", PointService.eTagOf(userPoint)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("잔고가 바뀌었으면 새 ETag 와 함께 본문을 응답한다")
+    public void testGetPoint_Modified() throws Exception {
+        //given
+        UserPoint before = new UserPoint(USER_ID, 500L, 1_000L);
+        UserPoint after = new UserPoint(USER_ID, 700L, 2_000L);
+        given(pointService.getPoint(USER_ID)).willReturn(after);
+
+        //when
+        //then
+        mvc.perform(get("/point/{id}", USER_ID).header("If-None-Match", PointService.eTagOf(before)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(700L))
+                .andExpect(header().string("ETag", PointService.eTagOf(after)));
+    }
+
+
+    @Test
+    @DisplayName("특정 유저의 포인트 내역 요약 조회")
+    public void testGetPointSummary() throws Exception {
+        //given
+        Map<TransactionType, PointSummary.Totals> totals = Map.of(
+                TransactionType.CHARGE, new PointSummary.Totals(2L, 1_500L),
+                TransactionType.USE, new PointSummary.Totals(1L, 200L));
+        PointSummary summary = new PointSummary(USER_ID, 3L, 100L, 300L, totals,
+                List.of(new PointSummary.Daily(LocalDate.of(2024, 1, 1), totals)));
+        given(pointSummaryAggregator.summary(USER_ID)).willReturn(summary);
+
+        //when
+        //then
+        mvc.perform(get("/point/{id}/summary", USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(3L))
+                .andExpect(jsonPath("$.totals.CHARGE.amount").value(1_500L))
+                .andExpect(jsonPath("$.totals.USE.count").value(1L))
+                .andExpect(jsonPath("$.daily[0].date").value("2024-01-01"));
+    }
 
     @Test
     @DisplayName("특정 유저의 포인트 충전")
     public void testChargePoint() throws Exception {
         //given
         UserPoint updatedUserPoint = new UserPoint(USER_ID, 1_000L, System.currentTimeMillis());
-        given(pointService.chargePoint(USER_ID, CHARGE_AMOUNT)).willReturn(updatedUserPoint);
+        given(pointService.chargePointAsync(USER_ID, CHARGE_AMOUNT)).willReturn(CompletableFuture.completedFuture(updatedUserPoint));
 
         //when
-        //then
-        mvc.perform(patch("/point/{id}/charge", USER_ID)
+        MvcResult result = mvc.perform(patch("/point/{id}/charge", USER_ID)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(CHARGE_AMOUNT)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(USER_ID))
                 .andExpect(jsonPath("$.point").value(1_000L));
-        verify(pointService).chargePoint(USER_ID, CHARGE_AMOUNT);
+        verify(pointService).chargePointAsync(USER_ID, CHARGE_AMOUNT);
     }
 
     @Test
@@ -93,17 +175,88 @@ class PointControllerTest {
     public void testUsePoint() throws Exception {
         //given
         UserPoint updatedUserPoint = new UserPoint(USER_ID, 800L, System.currentTimeMillis());
-        given(pointService.usePoint(USER_ID, USE_AMOUNT)).willReturn(updatedUserPoint);
+        given(pointService.usePointAsync(USER_ID, USE_AMOUNT)).willReturn(CompletableFuture.completedFuture(updatedUserPoint));
 
         //when
-        //then
-        mvc.perform(patch("/point/{id}/use", USER_ID)
+        MvcResult result = mvc.perform(patch("/point/{id}/use", USER_ID)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(USE_AMOUNT)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(USER_ID))
                 .andExpect(jsonPath("$.point").value(800L));
-        verify(pointService).usePoint(USER_ID, USE_AMOUNT);
+        verify(pointService).usePointAsync(USER_ID, USE_AMOUNT);
+    }
+
+    @Test
+    @DisplayName("한 유저의 포인트를 다른 유저에게 이체")
+    public void testTransfer() throws Exception {
+        //given
+        PointTransferResult transferResult = new PointTransferResult(new UserPoint(1L, 700L, 1L), new UserPoint(2L, 800L, 1L));
+        given(pointService.transferAsync(1L, 2L, 300L)).willReturn(CompletableFuture.completedFuture(transferResult));
+
+        //when
+        MvcResult result = mvc.perform(post("/point/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromUserId\":1,\"toUserId\":2,\"amount\":300}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from.point").value(700L))
+                .andExpect(jsonPath("$.to.point").value(800L));
+        verify(pointService).transferAsync(1L, 2L, 300L);
+    }
+
+    @Test
+    @DisplayName("요청이 한도를 넘으면 429 를 응답한다")
+    public void testChargePoint_TooManyRequests() throws Exception {
+        //given
+        given(admissionControl.admit(anyLong(), any()))
+                .willReturn(CompletableFuture.failedFuture(new TooManyRequestsException("요청이 너무 많습니다.")));
+
+        //when
+        MvcResult result = mvc.perform(patch("/point/{id}/charge", USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.valueOf(CHARGE_AMOUNT)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.code").value("429"));
+        verify(pointService, times(0)).chargePointAsync(USER_ID, CHARGE_AMOUNT);
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key 로 다시 충전하면 처음 결과를 그대로 응답한다")
+    public void testChargePoint_IdempotencyKey() throws Exception {
+        //given
+        UserPoint updatedUserPoint = new UserPoint(USER_ID, 1_000L, System.currentTimeMillis());
+        given(pointService.chargePointAsync(USER_ID, CHARGE_AMOUNT)).willReturn(CompletableFuture.completedFuture(updatedUserPoint));
+
+        //when
+        //then
+        for (int i = 0; i < 2; i++) {
+            MvcResult result = mvc.perform(patch("/point/{id}/charge", USER_ID)
+                            .header(PointController.IDEMPOTENCY_KEY, "charge-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(String.valueOf(CHARGE_AMOUNT)))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.point").value(1_000L));
+        }
+        verify(pointService, times(1)).chargePointAsync(USER_ID, CHARGE_AMOUNT);
     }
 
     @Test
@@ -114,11 +267,15 @@ class PointControllerTest {
         PointHistory history2 = new PointHistory(2L, USER_ID, 200L, TransactionType.USE, System.currentTimeMillis());
         List<PointHistory> pointHistories = Arrays.asList(history1, history2);
 
-        given(pointService.getHistory(USER_ID)).willReturn(pointHistories);
+        given(pointService.getHistoryAsync(USER_ID)).willReturn(CompletableFuture.completedFuture(pointHistories));
 
         //when
+        MvcResult result = mvc.perform(get("/point/{id}/histories", USER_ID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
         //then
-        mvc.perform(get("/point/{id}/histories", USER_ID))
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[0].amount").value(500L))
@@ -126,6 +283,143 @@ class PointControllerTest {
                 .andExpect(jsonPath("$[1].id").value(2L))
                 .andExpect(jsonPath("$[1].amount").value(200L))
                 .andExpect(jsonPath("$[1].type").value("USE"));
-        verify(pointService).getHistory(USER_ID);
+        verify(pointService).getHistoryAsync(USER_ID);
+    }
+
+    @Test
+    @DisplayName("특정 유저의 포인트 내역을 커서로 나누어 조회")
+    public void testGetPointHistoryPage() throws Exception {
+        //given
+        PointHistory history = new PointHistory(11L, USER_ID, 500L, TransactionType.CHARGE, System.currentTimeMillis());
+        given(pointService.getHistoryAsync(USER_ID, 10L, 1)).willReturn(CompletableFuture.completedFuture(List.of(history)));
+
+        //when
+        MvcResult result = mvc.perform(get("/point/{id}/histories", USER_ID)
+                        .param("after", "10")
+                        .param("limit", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(11L));
+        verify(pointService).getHistoryAsync(USER_ID, 10L, 1);
+    }
+
+    @Test
+    @DisplayName("특정 유저의 포인트 내역을 기간으로 조회")
+    public void testGetPointHistoryBetween() throws Exception {
+        //given
+        PointHistory history = new PointHistory(1L, USER_ID, 500L, TransactionType.CHARGE, 150L);
+        given(pointService.getHistoryAsync(USER_ID, 100L, 200L, 0L, PointService.DEFAULT_PAGE_SIZE))
+                .willReturn(CompletableFuture.completedFuture(List.of(history)));
+
+        //when
+        MvcResult result = mvc.perform(get("/point/{id}/histories", USER_ID)
+                        .param("from", "100")
+                        .param("to", "200"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].updateMillis").value(150L));
+        verify(pointService).getHistoryAsync(USER_ID, 100L, 200L, 0L, PointService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("특정 유저의 포인트 내역을 NDJSON 으로 스트리밍")
+    public void testStreamPointHistory() throws Exception {
+        //given
+        PointHistory history1 = new PointHistory(1L, USER_ID, 500L, TransactionType.CHARGE, 0L);
+        PointHistory history2 = new PointHistory(2L, USER_ID, 200L, TransactionType.USE, 0L);
+        given(pointService.getHistory(USER_ID, 0L, PointService.MAX_PAGE_SIZE)).willReturn(List.of(history1, history2));
+
+        //when
+        MvcResult result = mvc.perform(get("/point/{id}/histories/stream", USER_ID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":1,\"userId\":1,\"amount\":500,\"type\":\"CHARGE\",\"updateMillis\":0}\n"
+                                + "{\"id\":2,\"userId\":1,\"amount\":200,\"type\":\"USE\",\"updateMillis\":0}\n"));
+    }
+
+    @Test
+    @DisplayName("여러 건의 포인트 충전/사용 일괄 처리")
+    public void testBatch() throws Exception {
+        //given
+        List<PointCommand> commands = List.of(
+                new PointCommand(USER_ID, TransactionType.CHARGE, CHARGE_AMOUNT),
+                new PointCommand(2L, TransactionType.USE, USE_AMOUNT));
+        given(pointService.executeAsync(commands)).willReturn(CompletableFuture.completedFuture(List.of(
+                PointCommandResult.success(commands.get(0), 1_000L),
+                PointCommandResult.failure(commands.get(1), "잔액이 부족합니다."))));
+
+        //when
+        MvcResult result = mvc.perform(post("/point/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"userId\":1,\"type\":\"CHARGE\",\"amount\":1000},"
+                                + "{\"userId\":2,\"type\":\"USE\",\"amount\":200}]"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].point").value(1_000L))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].message").value("잔액이 부족합니다."));
+        verify(admissionControl).admitAll(eq(List.of(USER_ID, 2L)), any());
+        verify(pointService).executeAsync(commands);
+    }
+
+    @Test
+    @DisplayName("일괄 처리 요청이 한도를 넘으면 아무것도 처리하지 않고 429 를 응답한다")
+    public void testBatch_TooManyRequests() throws Exception {
+        //given
+        given(admissionControl.admitAll(any(), any()))
+                .willReturn(CompletableFuture.failedFuture(new TooManyRequestsException("요청이 너무 많습니다.")));
+
+        //when
+        MvcResult result = mvc.perform(post("/point/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"userId\":1,\"type\":\"CHARGE\",\"amount\":1000}]"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.code").value("429"));
+        verify(pointService, times(0)).executeAsync(any());
+    }
+
+    @Test
+    @DisplayName("여러 유저의 잔고 일괄 조회")
+    public void testBalances() throws Exception {
+        //given
+        given(pointService.getPoints(List.of(1L, 2L, 1L))).willReturn(List.of(
+                new UserPoint(1L, 100L, 0L),
+                new UserPoint(2L, 200L, 0L)));
+
+        //when
+        //then
+        mvc.perform(post("/point/balances")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1,2,1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[1].point").value(200L));
+        verify(pointService).getPoints(List.of(1L, 2L, 1L));
     }
 }
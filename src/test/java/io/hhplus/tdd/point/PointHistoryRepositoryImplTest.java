@@ -0,0 +1,118 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.PointHistoryRepositoryImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.*;
+
+class PointHistoryRepositoryImplTest {
+
+    @Mock
+    private PointHistoryTable pointHistoryTable;
+
+    private PointHistoryRepositoryImpl pointHistoryRepository;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        AtomicLong cursor = new AtomicLong(1);
+        given(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).willAnswer(invocation -> new PointHistory(
+                cursor.getAndIncrement(),
+                invocation.getArgument(0, Long.class),
+                invocation.getArgument(1, Long.class),
+                invocation.getArgument(2, TransactionType.class),
+                invocation.getArgument(3, Long.class)));
+        pointHistoryRepository = new PointHistoryRepositoryImpl(pointHistoryTable, new PointMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @DisplayName("유저별 내역만 저장 순서대로 조회된다")
+    public void selectAllByUserId_ShouldReturnOnlyUsersHistory() {
+        for (int i = 0; i < 20; i++) {
+            pointHistoryRepository.insert(i % 2 == 0 ? 1L : 2L, i, TransactionType.CHARGE, i);
+        }
+
+        List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(1L);
+
+        assertThat(histories).hasSize(10);
+        assertThat(histories).allMatch(history -> history.userId() == 1L);
+        assertThat(histories).extracting(PointHistory::id).isSorted();
+        verify(pointHistoryTable, never()).selectAllByUserId(anyLong());
+    }
+
+    @Test
+    @DisplayName("조회 이후에 추가된 내역은 이전 조회 결과에 영향을 주지 않는다")
+    public void selectAllByUserId_ShouldNotChange_AfterInsert() {
+        pointHistoryRepository.insert(1L, 100L, TransactionType.CHARGE, 0L);
+        List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(1L);
+
+        pointHistoryRepository.insert(1L, 50L, TransactionType.USE, 1L);
+
+        assertThat(histories).hasSize(1);
+        assertThat(pointHistoryRepository.selectAllByUserId(1L)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("내역이 없는 유저는 빈 목록을 반환한다")
+    public void selectAllByUserId_ShouldReturnEmpty_WhenNoHistory() {
+        assertThat(pointHistoryRepository.selectAllByUserId(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("커서 이후의 내역을 limit 개까지만 조회한다")
+    public void selectByUserIdAfter_ShouldReturnPageAfterCursor() {
+        for (int i = 0; i < 10; i++) {
+            pointHistoryRepository.insert(1L, i, TransactionType.CHARGE, i);
+        }
+
+        List<PointHistory> page = pointHistoryRepository.selectByUserIdAfter(1L, 3L, 4);
+
+        assertThat(page).extracting(PointHistory::id).containsExactly(4L, 5L, 6L, 7L);
+    }
+
+    @Test
+    @DisplayName("시간 범위에 해당하는 내역을 limit 개까지만 조회한다")
+    public void selectByUserIdBetween_ShouldReturnPageInRange() {
+        for (int i = 0; i < 10; i++) {
+            pointHistoryRepository.insert(1L, i, TransactionType.CHARGE, i * 10L);
+        }
+
+        List<PointHistory> page = pointHistoryRepository.selectByUserIdBetween(1L, 20L, 70L, 0L, 3);
+        List<PointHistory> nextPage = pointHistoryRepository.selectByUserIdBetween(1L, 20L, 70L, page.get(2).id(), 3);
+
+        assertThat(page).extracting(PointHistory::updateMillis).containsExactly(20L, 30L, 40L);
+        assertThat(nextPage).extracting(PointHistory::updateMillis).containsExactly(50L, 60L, 70L);
+    }
+
+    @Test
+    @DisplayName("테이블이 겹치는 id 를 돌려줘도 내역 id 는 겹치지 않고 유저별로 오름차순이다")
+    public void insert_ShouldAssignUniqueIds_WhenTableRepeatsIds() {
+        //given
+        given(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).willAnswer(invocation -> new PointHistory(
+                1L,
+                invocation.getArgument(0, Long.class),
+                invocation.getArgument(1, Long.class),
+                invocation.getArgument(2, TransactionType.class),
+                invocation.getArgument(3, Long.class)));
+
+        //when
+        for (int i = 0; i < 10; i++) {
+            pointHistoryRepository.insert(i % 2 == 0 ? 1L : 2L, i, TransactionType.CHARGE, i);
+        }
+
+        //then
+        assertThat(pointHistoryRepository.selectAllByUserId(1L)).extracting(PointHistory::id).containsExactly(1L, 3L, 5L, 7L, 9L);
+        assertThat(pointHistoryRepository.selectByUserIdAfter(2L, 4L, 10)).extracting(PointHistory::id).containsExactly(6L, 8L, 10L);
+    }
+}
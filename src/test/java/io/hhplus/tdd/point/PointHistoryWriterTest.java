@@ -0,0 +1,232 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.*;
+
+class PointHistoryWriterTest {
+
+    private static final long USER_ID = 1L;
+
+    @Mock
+    private PointHistoryRepository pointHistoryRepository;
+
+    private final AtomicLong historyIds = new AtomicLong();
+    private final Map<Long, List<Long>> insertedAmounts = new ConcurrentHashMap<>();
+    private final AtomicInteger insertsSinceSync = new AtomicInteger();
+
+    // 첫 insert 를 막아 두어 그동안 들어온 내역이 큐에 쌓이게 한다
+    private final CountDownLatch firstInsertStarted = new CountDownLatch(1);
+    private final CountDownLatch firstInsert = new CountDownLatch(1);
+
+    private PointHistoryWriter pointHistoryWriter;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        given(pointHistoryRepository.insert(anyLong(), anyLong(), any(), anyLong())).willAnswer(invocation -> {
+            firstInsertStarted.countDown();
+            firstInsert.await(5, TimeUnit.SECONDS);
+            long userId = invocation.getArgument(0, Long.class);
+            long amount = invocation.getArgument(1, Long.class);
+            insertedAmounts.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>()).add(amount);
+            insertsSinceSync.incrementAndGet();
+            return new PointHistory(historyIds.incrementAndGet(), userId, amount,
+                    invocation.getArgument(2, TransactionType.class), invocation.getArgument(3, Long.class));
+        });
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        firstInsert.countDown();
+        if (pointHistoryWriter != null) {
+            pointHistoryWriter.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("ACK_AFTER_COMMIT 은 내역이 저장될 때까지 응답을 기다린다")
+    public void await_ShouldWaitForCommit_WhenAckAfterCommit() throws Exception {
+        //given
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, PointHistoryWriter.Durability.ACK_AFTER_COMMIT, 1, 100, 10);
+
+        //when
+        CompletableFuture<PointHistory> committed = pointHistoryWriter.write(USER_ID, 100L, TransactionType.CHARGE, 0L);
+        CompletableFuture<Void> acknowledged = CompletableFuture.runAsync(() -> pointHistoryWriter.await(committed));
+        firstInsertStarted.await(5, TimeUnit.SECONDS);
+
+        //then
+        Thread.sleep(100);
+        assertThat(acknowledged).isNotDone();
+        assertThat(pointHistoryWriter.acknowledgement(committed)).isNotDone();
+
+        firstInsert.countDown();
+        acknowledged.get(5, TimeUnit.SECONDS);
+        assertThat(committed.get().amount()).isEqualTo(100L);
+    }
+
+    @Test
+    @DisplayName("ACK_AFTER_ENQUEUE 는 내역이 큐에 들어가면 바로 응답한다")
+    public void await_ShouldNotWait_WhenAckAfterEnqueue() throws Exception {
+        //given
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, PointHistoryWriter.Durability.ACK_AFTER_ENQUEUE, 1, 100, 10);
+
+        //when
+        CompletableFuture<PointHistory> committed = pointHistoryWriter.write(USER_ID, 100L, TransactionType.CHARGE, 0L);
+        firstInsertStarted.await(5, TimeUnit.SECONDS);
+        pointHistoryWriter.await(committed);
+
+        //then
+        assertThat(committed).isNotDone();
+        assertThat(pointHistoryWriter.acknowledgement(committed)).isDone();
+
+        firstInsert.countDown();
+        assertThat(committed.get(5, TimeUnit.SECONDS).amount()).isEqualTo(100L);
+    }
+
+    @Test
+    @DisplayName("committer 가 여러 개여도 같은 유저의 내역은 넣은 순서대로 저장된다")
+    public void write_ShouldKeepPerUserOrder() throws Exception {
+        //given
+        firstInsert.countDown();
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, PointHistoryWriter.Durability.ACK_AFTER_COMMIT, 4, 1000, 7);
+        int userCount = 10;
+        int writesPerUser = 100;
+
+        //when
+        List<CompletableFuture<PointHistory>> results = new ArrayList<>();
+        for (long amount = 1; amount <= writesPerUser; amount++) {
+            for (long userId = 1; userId <= userCount; userId++) {
+                results.add(pointHistoryWriter.write(userId, amount, TransactionType.CHARGE, 0L));
+            }
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(insertedAmounts).hasSize(userCount);
+        insertedAmounts.values().forEach(amounts -> assertThat(amounts).hasSize(writesPerUser).isSorted());
+    }
+
+    @Test
+    @DisplayName("한 번에 저장하는 내역은 batch-size 를 넘지 않고, 배치마다 sync 를 한 번 부른다")
+    public void write_ShouldSplitBatches_ByBatchSize() throws Exception {
+        //given
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        willAnswer(invocation -> {
+            batchSizes.add(insertsSinceSync.getAndSet(0));
+            return null;
+        }).given(pointHistoryRepository).sync();
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, PointHistoryWriter.Durability.ACK_AFTER_COMMIT, 1, 100, 3);
+
+        //when
+        List<CompletableFuture<PointHistory>> results = new ArrayList<>();
+        results.add(pointHistoryWriter.write(USER_ID, 1L, TransactionType.CHARGE, 0L));
+        firstInsertStarted.await(5, TimeUnit.SECONDS);
+        for (long amount = 2; amount <= 10; amount++) {
+            results.add(pointHistoryWriter.write(USER_ID, amount, TransactionType.CHARGE, 0L));
+        }
+        firstInsert.countDown();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        //then
+        // 막혀 있던 첫 내역 한 건 + 나머지 9 건을 3 건씩
+        assertThat(batchSizes).containsExactly(1, 3, 3, 3);
+        assertThat(insertedAmounts.get(USER_ID)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    @DisplayName("한 배치 안에서 다른 유저의 내역은 병렬로 저장한다")
+    public void write_ShouldInsertUsersInParallel() throws Exception {
+        //given
+        firstInsert.countDown();
+        given(pointHistoryRepository.insert(anyLong(), anyLong(), any(), anyLong())).willAnswer(invocation -> {
+            Thread.sleep(200);
+            return new PointHistory(historyIds.incrementAndGet(), invocation.getArgument(0, Long.class),
+                    invocation.getArgument(1, Long.class), invocation.getArgument(2, TransactionType.class), 0L);
+        });
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, PointHistoryWriter.Durability.ACK_AFTER_COMMIT, 1, 100, 100);
+
+        //when
+        long start = System.currentTimeMillis();
+        List<CompletableFuture<PointHistory>> results = new ArrayList<>();
+        for (long userId = 1; userId <= 20; userId++) {
+            results.add(pointHistoryWriter.write(userId, 100L, TransactionType.CHARGE, 0L));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        long elapsed = System.currentTimeMillis() - start;
+
+        //then
+        // 한 건씩 저장하면 4000ms 이상 걸린다
+        assertThat(elapsed).isLessThan(2_000L);
+    }
+
+    @Test
+    @DisplayName("저장에 실패한 내역만 그 예외로 실패하고, 같은 배치의 나머지는 저장된다")
+    public void write_ShouldFailOnlyFailedInsert() throws Exception {
+        //given
+        firstInsert.countDown();
+        IllegalStateException failure = new IllegalStateException("저장 실패");
+        given(pointHistoryRepository.insert(eq(2L), anyLong(), any(), anyLong())).willThrow(failure);
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, PointHistoryWriter.Durability.ACK_AFTER_COMMIT, 1, 100, 10);
+
+        //when
+        CompletableFuture<PointHistory> succeeded = pointHistoryWriter.write(1L, 100L, TransactionType.CHARGE, 0L);
+        CompletableFuture<PointHistory> failed = pointHistoryWriter.write(2L, 100L, TransactionType.CHARGE, 0L);
+
+        //then
+        assertThat(succeeded.get(5, TimeUnit.SECONDS).userId()).isEqualTo(1L);
+        assertThatThrownBy(() -> pointHistoryWriter.await(failed)).isSameAs(failure);
+    }
+
+    @Test
+    @DisplayName("sync 에 실패하면 그 배치의 내역이 모두 실패한다")
+    public void write_ShouldFailWholeBatch_WhenSyncFails() {
+        //given
+        firstInsert.countDown();
+        IllegalStateException failure = new IllegalStateException("sync 실패");
+        willThrow(failure).given(pointHistoryRepository).sync();
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, PointHistoryWriter.Durability.ACK_AFTER_COMMIT, 1, 100, 10);
+
+        //when
+        CompletableFuture<PointHistory> committed = pointHistoryWriter.write(USER_ID, 100L, TransactionType.CHARGE, 0L);
+
+        //then
+        assertThatThrownBy(() -> pointHistoryWriter.await(committed)).isSameAs(failure);
+    }
+
+    @Test
+    @DisplayName("종료된 뒤에 들어온 내역은 기다리지 않고 바로 실패한다")
+    public void write_ShouldFail_AfterShutdown() throws Exception {
+        //given
+        firstInsert.countDown();
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, PointHistoryWriter.Durability.ACK_AFTER_COMMIT, 1, 100, 10);
+        pointHistoryWriter.shutdown();
+
+        //when
+        CompletableFuture<PointHistory> committed = pointHistoryWriter.write(USER_ID, 100L, TransactionType.CHARGE, 0L);
+
+        //then
+        assertThatThrownBy(() -> pointHistoryWriter.await(committed)).isInstanceOf(IllegalStateException.class);
+        verify(pointHistoryRepository, never()).insert(anyLong(), anyLong(), any(), anyLong());
+    }
+}
@@ -0,0 +1,80 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.lock.RefCountedUserLockRegistry;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.ExecutorAsyncPointHistoryRepository;
+import io.hhplus.tdd.point.repository.ExecutorAsyncUserPointRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryWriter;
+import io.hhplus.tdd.point.repository.RepositoryExecutor;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.service.PointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.*;
+
+class PointMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private PointService pointService;
+
+    @Mock
+    private UserPointRepository userPointTable;
+
+    @Mock
+    private PointHistoryRepository pointHistoryTable;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        registry = new SimpleMeterRegistry();
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(
+                pointHistoryTable, PointHistoryWriter.Durability.ACK_AFTER_COMMIT, 1, 100, 100);
+        RepositoryExecutor repositoryExecutor = new RepositoryExecutor(8, 100);
+        pointService = new PointService(userPointTable, pointHistoryTable,
+                new ExecutorAsyncUserPointRepository(userPointTable, repositoryExecutor),
+                new ExecutorAsyncPointHistoryRepository(pointHistoryTable, repositoryExecutor),
+                pointHistoryWriter, new RefCountedUserLockRegistry(60_000L), new PointMetrics(registry));
+    }
+
+    @Test
+    @DisplayName("충전하면 락 대기/점유 시간이 기록된다")
+    public void chargePoint_ShouldRecordLockTimers() {
+        //given
+        long userId = 1L;
+        given(userPointTable.selectById(userId)).willReturn(new UserPoint(userId, 0L, 0L));
+        given(userPointTable.insertOrUpdate(userId, 500L)).willReturn(new UserPoint(userId, 500L, 0L));
+
+        //when
+        pointService.chargePoint(userId, 500L);
+
+        //then
+        assertThat(registry.get("point.lock.wait").timer().count()).isEqualTo(1);
+        assertThat(registry.get("point.lock.hold").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("거절된 요청은 사유별로 집계된다")
+    public void rejectedRequests_ShouldBeCountedByReason() {
+        //given
+        long userId = 1L;
+        given(userPointTable.selectById(userId)).willReturn(new UserPoint(userId, 9500L, 0L));
+
+        //when
+        assertThrows(PointException.class, () -> pointService.chargePoint(userId, 1000L));
+        assertThrows(PointException.class, () -> pointService.usePoint(userId, 10000L));
+        assertThrows(PointException.class, () -> pointService.usePoint(userId, 10000L));
+
+        //then
+        assertThat(registry.get("point.rejections").tag("reason", "max_balance").counter().count()).isEqualTo(1);
+        assertThat(registry.get("point.rejections").tag("reason", "insufficient_balance").counter().count()).isEqualTo(2);
+    }
+}
@@ -1,13 +1,19 @@
 package io.hhplus.tdd.point;
 
 import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.lock.RefCountedUserLockRegistry;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.ExecutorAsyncPointHistoryRepository;
+import io.hhplus.tdd.point.repository.ExecutorAsyncUserPointRepository;
 import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryWriter;
+import io.hhplus.tdd.point.repository.RepositoryExecutor;
 import io.hhplus.tdd.point.repository.UserPointRepository;
 import io.hhplus.tdd.point.service.PointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -16,6 +22,8 @@ import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -24,7 +32,6 @@ import static org.mockito.BDDMockito.*;
 
 class PointServiceTest {
 
-    @InjectMocks
     private PointService pointService;
 
     @Mock
@@ -38,6 +45,16 @@ class PointServiceTest {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(
+                pointHistoryTable, PointHistoryWriter.Durability.ACK_AFTER_COMMIT, 1, 100, 100);
+        RepositoryExecutor repositoryExecutor = new RepositoryExecutor(8, 100);
+        pointService = new PointService(userPointTable, pointHistoryTable,
+                new ExecutorAsyncUserPointRepository(userPointTable, repositoryExecutor),
+                new ExecutorAsyncPointHistoryRepository(pointHistoryTable, repositoryExecutor),
+                pointHistoryWriter, new RefCountedUserLockRegistry(60_000L), new PointMetrics(new SimpleMeterRegistry()));
+        // 따로 정하지 않은 잔고 저장은 받은 값을 그대로 돌려준다
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .willAnswer(invocation -> new UserPoint(invocation.getArgument(0, Long.class), invocation.getArgument(1, Long.class), 0L));
     }
 
     @Test
@@ -74,6 +91,254 @@ class PointServiceTest {
         verify(pointHistoryTable).insert(eq(userId), eq(amountToUse), eq(TransactionType.USE), anyLong());
     }
 
+    @Test
+    @DisplayName("변경된 잔고는 테이블을 다시 읽지 않고 조회된다")
+    public void getPoint_ShouldReadFromBalanceView_AfterMutation() {
+        //given
+        long userId = 1L;
+        given(userPointTable.selectById(eq(userId))).willReturn(new UserPoint(userId, 1000L, 0L));
+        given(userPointTable.insertOrUpdate(eq(userId), eq(1500L))).willReturn(new UserPoint(userId, 1500L, 1L));
+        pointService.chargePoint(userId, 500L);
+
+        //when
+        UserPoint userPoint = pointService.getPoint(userId);
+
+        //then
+        assertThat(userPoint.point()).isEqualTo(1500L);
+        verify(userPointTable, times(1)).selectById(userId);
+    }
+
+    @Test
+    @DisplayName("처음 조회하는 유저는 테이블에서 한 번만 읽는다")
+    public void getPoint_ShouldLoadOnce_WhenNotCached() {
+        //given
+        long userId = 1L;
+        given(userPointTable.selectById(eq(userId))).willReturn(new UserPoint(userId, 300L, 0L));
+
+        //when
+        pointService.getPoint(userId);
+        UserPoint userPoint = pointService.getPoint(userId);
+
+        //then
+        assertThat(userPoint.point()).isEqualTo(300L);
+        verify(userPointTable, times(1)).selectById(userId);
+    }
+
+    @Test
+    @DisplayName("조회용 잔고는 최대 개수를 넘으면 지우고, 지워진 유저는 테이블에서 다시 읽는다")
+    public void getPoint_ShouldBoundCachedBalances() {
+        //given
+        AtomicInteger selects = new AtomicInteger();
+        given(userPointTable.selectById(anyLong())).willAnswer(invocation -> {
+            selects.incrementAndGet();
+            return UserPoint.empty(invocation.getArgument(0, Long.class));
+        });
+        int userCount = PointService.MAX_CACHED_BALANCES + 1_000;
+
+        //when
+        for (long userId = 1; userId <= userCount; userId++) {
+            pointService.getPoint(userId);
+        }
+        for (long userId = 1; userId <= userCount; userId++) {
+            assertThat(pointService.getPoint(userId).point()).isZero();
+        }
+
+        //then
+        // 최대 개수를 넘는 만큼은 캐시에 남아 있을 수 없으므로 두 번째 조회에서 다시 읽는다
+        assertThat(selects.get()).isGreaterThanOrEqualTo(userCount + 1_000);
+    }
+
+    @Test
+    @DisplayName("여러 유저 잔고 조회 시 중복된 id 는 한 번만 읽고 요청 순서대로 반환한다")
+    public void getPoints_ShouldDedupeAndKeepOrder() {
+        //given
+        given(userPointTable.selectById(anyLong()))
+                .willAnswer(invocation -> new UserPoint(invocation.getArgument(0, Long.class), invocation.getArgument(0, Long.class) * 10, 0L));
+
+        //when
+        List<UserPoint> userPoints = pointService.getPoints(List.of(3L, 1L, 3L, 2L, 1L));
+
+        //then
+        assertThat(userPoints).extracting(UserPoint::id).containsExactly(3L, 1L, 2L);
+        assertThat(userPoints).extracting(UserPoint::point).containsExactly(30L, 10L, 20L);
+        verify(userPointTable, times(1)).selectById(3L);
+        verify(userPointTable, times(1)).selectById(1L);
+    }
+
+    @Test
+    @DisplayName("여러 유저 잔고 조회는 테이블을 병렬로 읽는다")
+    public void getPoints_ShouldReadInParallel() {
+        //given
+        given(userPointTable.selectById(anyLong())).willAnswer(invocation -> {
+            Thread.sleep(100);
+            return UserPoint.empty(invocation.getArgument(0, Long.class));
+        });
+        List<Long> userIds = new ArrayList<>();
+        for (long i = 1; i <= 32; i++) {
+            userIds.add(i);
+        }
+
+        //when
+        long start = System.currentTimeMillis();
+        List<UserPoint> userPoints = pointService.getPoints(userIds);
+        long elapsed = System.currentTimeMillis() - start;
+
+        //then
+        assertThat(userPoints).hasSize(32);
+        // 순차로 읽으면 3200ms 이상 걸린다
+        assertThat(elapsed).isLessThan(1_600L);
+    }
+
+    @Test
+    @DisplayName("이체하면 두 유저의 잔고와 내역이 함께 반영된다")
+    public void transfer_ShouldUpdateBothUsers() {
+        //given
+        given(userPointTable.selectById(eq(1L))).willReturn(new UserPoint(1L, 1000L, 0L));
+        given(userPointTable.selectById(eq(2L))).willReturn(new UserPoint(2L, 500L, 0L));
+        given(userPointTable.insertOrUpdate(eq(1L), eq(700L))).willReturn(new UserPoint(1L, 700L, 1L));
+        given(userPointTable.insertOrUpdate(eq(2L), eq(800L))).willReturn(new UserPoint(2L, 800L, 1L));
+
+        //when
+        PointTransferResult result = pointService.transfer(1L, 2L, 300L);
+
+        //then
+        assertThat(result.from().point()).isEqualTo(700L);
+        assertThat(result.to().point()).isEqualTo(800L);
+        assertThat(pointService.getPoint(2L).point()).isEqualTo(800L);
+        verify(pointHistoryTable).insert(eq(1L), eq(300L), eq(TransactionType.TRANSFER_OUT), anyLong());
+        verify(pointHistoryTable).insert(eq(2L), eq(300L), eq(TransactionType.TRANSFER_IN), anyLong());
+    }
+
+    @Test
+    @DisplayName("받는 유저가 최대 잔고를 넘으면 어느 쪽도 바뀌지 않는다")
+    public void transfer_ShouldWriteNothing_WhenReceiverExceedsMaxBalance() {
+        //given
+        given(userPointTable.selectById(eq(1L))).willReturn(new UserPoint(1L, 1000L, 0L));
+        given(userPointTable.selectById(eq(2L))).willReturn(new UserPoint(2L, 9_900L, 0L));
+
+        //when
+        //then
+        assertThrows(PointException.class, () -> pointService.transfer(1L, 2L, 300L));
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("보내는 유저의 잔액이 부족하면 어느 쪽도 바뀌지 않는다")
+    public void transfer_ShouldWriteNothing_WhenInsufficientBalance() {
+        //given
+        given(userPointTable.selectById(eq(1L))).willReturn(new UserPoint(1L, 100L, 0L));
+        given(userPointTable.selectById(eq(2L))).willReturn(new UserPoint(2L, 0L, 0L));
+
+        //when
+        //then
+        assertThrows(PointException.class, () -> pointService.transfer(1L, 2L, 300L));
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("받는 유저의 잔고 저장이 실패하면 보낸 유저의 잔고를 되돌린다")
+    public void transfer_ShouldRestoreSender_WhenReceiverWriteFails() {
+        //given
+        given(userPointTable.selectById(eq(1L))).willReturn(new UserPoint(1L, 1000L, 0L));
+        given(userPointTable.selectById(eq(2L))).willReturn(new UserPoint(2L, 0L, 0L));
+        given(userPointTable.insertOrUpdate(eq(1L), eq(700L))).willReturn(new UserPoint(1L, 700L, 1L));
+        given(userPointTable.insertOrUpdate(eq(2L), eq(300L))).willThrow(new IllegalStateException("저장 실패"));
+
+        //when
+        //then
+        assertThrows(IllegalStateException.class, () -> pointService.transfer(1L, 2L, 300L));
+        verify(userPointTable).insertOrUpdate(1L, 1000L);
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("잔고를 되돌리다 실패하면 원래 예외에 함께 남기고 두 유저의 캐시를 비운다")
+    public void transfer_ShouldKeepOriginalFailure_WhenRollbackFails() {
+        //given
+        given(userPointTable.selectById(eq(1L))).willReturn(new UserPoint(1L, 1000L, 0L));
+        given(userPointTable.selectById(eq(2L))).willReturn(new UserPoint(2L, 0L, 0L));
+        given(userPointTable.insertOrUpdate(eq(1L), eq(700L))).willReturn(new UserPoint(1L, 700L, 1L));
+        given(userPointTable.insertOrUpdate(eq(2L), eq(300L))).willThrow(new IllegalStateException("저장 실패"));
+        given(userPointTable.insertOrUpdate(eq(1L), eq(1000L))).willThrow(new IllegalStateException("되돌리기 실패"));
+        pointService.getPoint(1L);
+        pointService.getPoint(2L);
+
+        //when
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> pointService.transfer(1L, 2L, 300L));
+
+        //then
+        assertThat(thrown.getMessage()).isEqualTo("저장 실패");
+        assertThat(thrown.getSuppressed()).extracting(Throwable::getMessage).containsExactly("되돌리기 실패");
+        // 캐시가 비었으므로 다시 테이블에서 읽는다 (캐시 채우기 1번, 이체 1번, 다시 조회 1번)
+        pointService.getPoint(1L);
+        pointService.getPoint(2L);
+        verify(userPointTable, times(3)).selectById(1L);
+        verify(userPointTable, times(3)).selectById(2L);
+    }
+
+    @Test
+    @DisplayName("이체 내역에는 각 유저의 저장된 잔고 변경 시각을 남긴다")
+    public void transfer_ShouldRecordSavedUpdateMillis() {
+        //given
+        given(userPointTable.selectById(eq(1L))).willReturn(new UserPoint(1L, 1000L, 0L));
+        given(userPointTable.selectById(eq(2L))).willReturn(new UserPoint(2L, 500L, 0L));
+        given(userPointTable.insertOrUpdate(eq(1L), eq(700L))).willReturn(new UserPoint(1L, 700L, 111L));
+        given(userPointTable.insertOrUpdate(eq(2L), eq(800L))).willReturn(new UserPoint(2L, 800L, 222L));
+
+        //when
+        pointService.transfer(1L, 2L, 300L);
+
+        //then
+        verify(pointHistoryTable).insert(1L, 300L, TransactionType.TRANSFER_OUT, 111L);
+        verify(pointHistoryTable).insert(2L, 300L, TransactionType.TRANSFER_IN, 222L);
+    }
+
+    @Test
+    @DisplayName("자기 자신에게 이체하거나 0 이하의 금액을 이체할 수 없다")
+    public void transfer_ShouldReject_InvalidRequest() {
+        assertThrows(PointException.class, () -> pointService.transfer(1L, 1L, 100L));
+        assertThrows(PointException.class, () -> pointService.transfer(1L, 2L, 0L));
+        verify(userPointTable, never()).selectById(anyLong());
+    }
+
+    @Test
+    @DisplayName("이체할 때 두 유저의 잔고를 동시에 조회한다")
+    public void transfer_ShouldReadBothUsersConcurrently() {
+        //given
+        // 한쪽 조회가 끝나야 다른 쪽을 조회한다면 서로를 기다리다 시간이 초과된다
+        CountDownLatch reading = new CountDownLatch(2);
+        given(userPointTable.selectById(anyLong())).willAnswer(invocation -> {
+            reading.countDown();
+            boolean together = reading.await(5, TimeUnit.SECONDS);
+            long id = invocation.getArgument(0);
+            return new UserPoint(id, together ? 1000L : 0L, 0L);
+        });
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .willAnswer(invocation -> new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 1L));
+
+        //when
+        PointTransferResult result = pointService.transfer(1L, 2L, 300L);
+
+        //then
+        assertThat(result.from().point()).isEqualTo(700L);
+        assertThat(result.to().point()).isEqualTo(1300L);
+    }
+
+    @Test
+    @DisplayName("내역 비동기 조회는 저장소 결과를 그대로 돌려준다")
+    public void getHistoryAsync_ShouldReturnRepositoryResult() {
+        //given
+        List<PointHistory> histories = List.of(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 0L));
+        given(pointHistoryTable.selectByUserIdAfter(eq(1L), eq(0L), anyInt())).willReturn(histories);
+
+        //when
+        List<PointHistory> result = pointService.getHistoryAsync(1L, 0L, 10).join();
+
+        //then
+        assertThat(result).isEqualTo(histories);
+    }
+
     @Test
     @DisplayName("포인트가 부족하면 PointException 발생")
     public void usePoint_ShouldThrowException_WhenInsufficientBalance() throws Exception {
@@ -188,4 +453,117 @@ class PointServiceTest {
 
         verify(userPointTable, times(numberOfThreads)).insertOrUpdate(eq(userId), anyLong());
     }
+
+    @Test
+    @DisplayName("일괄 처리 시 유저별로 잔고를 한 번만 조회/저장하고 실패한 건은 건너뛴다")
+    public void execute_ShouldApplyCommandsPerUser() throws Exception {
+        long userId = 1L;
+        given(userPointTable.selectById(eq(userId))).willReturn(new UserPoint(userId, 9000L, System.currentTimeMillis()));
+
+        List<PointCommandResult> results = pointService.execute(List.of(
+                new PointCommand(userId, TransactionType.CHARGE, 500L),
+                new PointCommand(userId, TransactionType.CHARGE, 1000L),
+                new PointCommand(userId, TransactionType.USE, 300L)
+        ));
+
+        assertThat(results).extracting(PointCommandResult::success).containsExactly(true, false, true);
+        assertThat(results).extracting(PointCommandResult::point).containsExactly(9500L, null, 9200L);
+        assertThat(results.get(1).message()).isEqualTo("잔고는 최대 " + MAX_BALANCE + " 포인트를 초과할 수 없습니다.");
+        verify(userPointTable, times(1)).selectById(eq(userId));
+        verify(userPointTable, times(1)).insertOrUpdate(eq(userId), eq(9200L));
+        verify(pointHistoryTable).insert(eq(userId), eq(500L), eq(TransactionType.CHARGE), anyLong());
+        verify(pointHistoryTable).insert(eq(userId), eq(300L), eq(TransactionType.USE), anyLong());
+        verify(pointHistoryTable, never()).insert(eq(userId), eq(1000L), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("일괄 처리 결과는 요청 순서를 유지한다")
+    public void execute_ShouldKeepRequestOrder() throws Exception {
+        given(userPointTable.selectById(anyLong())).willAnswer(invocation -> UserPoint.empty(invocation.getArgument(0, Long.class)));
+
+        List<PointCommandResult> results = pointService.execute(List.of(
+                new PointCommand(1L, TransactionType.CHARGE, 100L),
+                new PointCommand(2L, TransactionType.USE, 100L),
+                new PointCommand(1L, TransactionType.USE, 50L)
+        ));
+
+        assertThat(results).extracting(PointCommandResult::userId).containsExactly(1L, 2L, 1L);
+        assertThat(results).extracting(PointCommandResult::success).containsExactly(true, false, true);
+        verify(userPointTable, never()).insertOrUpdate(eq(2L), anyLong());
+    }
+
+    @Test
+    @DisplayName("일괄 처리 요청이 최대 건수를 넘으면 아무것도 처리하지 않는다")
+    public void execute_ShouldReject_WhenTooManyCommands() {
+        //given
+        List<PointCommand> commands = new ArrayList<>();
+        for (int i = 0; i <= PointService.MAX_BULK_SIZE; i++) {
+            commands.add(new PointCommand(1L, TransactionType.CHARGE, 100L));
+        }
+
+        //when
+        //then
+        assertThrows(PointException.class, () -> pointService.execute(commands));
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("일괄 처리 중 한 유저의 락을 얻지 못하면 그 유저의 건만 실패하고 다른 유저는 처리된다")
+    public void execute_ShouldFailOnlyTimedOutUser() throws Exception {
+        //given
+        RefCountedUserLockRegistry userLockRegistry = new RefCountedUserLockRegistry(50L);
+        PointService timedPointService = new PointService(userPointTable, pointHistoryTable, null, null,
+                new PointHistoryWriter(pointHistoryTable, PointHistoryWriter.Durability.ACK_AFTER_COMMIT, 1, 100, 100),
+                userLockRegistry, new PointMetrics(new SimpleMeterRegistry()));
+        given(userPointTable.selectById(anyLong())).willAnswer(invocation -> UserPoint.empty(invocation.getArgument(0, Long.class)));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .willAnswer(invocation -> new UserPoint(invocation.getArgument(0, Long.class), invocation.getArgument(1, Long.class), 0L));
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.submit(() -> userLockRegistry.withLock(1L, () -> {
+            locked.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        locked.await(5, TimeUnit.SECONDS);
+
+        //when
+        List<PointCommandResult> results;
+        try {
+            results = timedPointService.execute(List.of(
+                    new PointCommand(1L, TransactionType.CHARGE, 100L),
+                    new PointCommand(2L, TransactionType.CHARGE, 200L),
+                    new PointCommand(1L, TransactionType.CHARGE, 300L)
+            ));
+        } finally {
+            release.countDown();
+            executorService.shutdown();
+        }
+
+        //then
+        assertThat(results).extracting(PointCommandResult::userId).containsExactly(1L, 2L, 1L);
+        assertThat(results).extracting(PointCommandResult::success).containsExactly(false, true, false);
+        assertThat(results.get(1).point()).isEqualTo(200L);
+        verify(userPointTable, never()).insertOrUpdate(eq(1L), anyLong());
+    }
+
+    @Test
+    @DisplayName("잔고 저장에 실패하면 포인트 내역을 남기지 않는다")
+    public void chargePoint_ShouldNotRecordHistory_WhenBalanceWriteFails() {
+        //given
+        given(userPointTable.selectById(eq(1L))).willReturn(new UserPoint(1L, 1000L, 0L));
+        given(userPointTable.insertOrUpdate(eq(1L), anyLong())).willThrow(new IllegalStateException("저장 실패"));
+
+        //when
+        //then
+        assertThrows(IllegalStateException.class, () -> pointService.chargePoint(1L, 100L));
+        assertThrows(IllegalStateException.class, () -> pointService.usePoint(1L, 100L));
+        assertThrows(IllegalStateException.class, () -> pointService.execute(List.of(new PointCommand(1L, TransactionType.CHARGE, 100L))));
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+    }
 }
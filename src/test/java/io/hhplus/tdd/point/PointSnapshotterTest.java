@@ -0,0 +1,176 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.wal.PointSnapshotter;
+import io.hhplus.tdd.point.wal.PointWriteAheadLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointSnapshotterTest {
+
+    // 레코드 하나는 41 바이트
+    private static final int SEGMENT_SIZE = 41 * 10;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("재시작하면 스냅샷 이후의 WAL 꼬리만 재생한다")
+    public void restart_ShouldReplayOnlyTailAfterSnapshot() throws IOException {
+        //given
+        PointWriteAheadLog wal = new PointWriteAheadLog(walDirectory(), SEGMENT_SIZE, 0L);
+        PointSnapshotter snapshotter = new PointSnapshotter(wal, snapshotDirectory(), 0L, 2);
+        for (int i = 0; i < 10; i++) {
+            wal.append(1L, 100L, TransactionType.CHARGE, i);
+        }
+        snapshotter.snapshot();
+        wal.append(1L, 300L, TransactionType.USE, 10L);
+        wal.append(2L, 50L, TransactionType.CHARGE, 11L);
+        wal.close();
+
+        // 스냅샷에 포함된 첫 세그먼트를 깨뜨려도 다시 읽지 않으므로 문제가 없어야 한다
+        corrupt(walDirectory().resolve("point-0000000000.wal"), 20);
+
+        //when
+        PointWriteAheadLog reopened = new PointWriteAheadLog(walDirectory(), SEGMENT_SIZE, 0L);
+        PointSnapshotter restored = new PointSnapshotter(reopened, snapshotDirectory(), 0L, 2);
+
+        //then
+        assertThat(restored.balances()).containsOnlyKeys(1L, 2L);
+        assertThat(restored.balances().get(1L).point()).isEqualTo(700L);
+        assertThat(restored.balances().get(2L).point()).isEqualTo(50L);
+        assertThat(restored.lastAppliedId()).isEqualTo(12L);
+        Map<Long, long[]> historyIds = new HashMap<>();
+        assertThat(restored.historyIds(historyIds::put)).isEqualTo(12L);
+        assertThat(historyIds.get(1L)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L);
+        assertThat(historyIds.get(2L)).containsExactly(12L);
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("이체 내역도 보낸 유저와 받은 유저의 잔고에 반영된다")
+    public void restart_ShouldApplyTransferHistories() {
+        //given
+        PointWriteAheadLog wal = new PointWriteAheadLog(walDirectory(), SEGMENT_SIZE, 0L);
+        wal.append(1L, 1_000L, TransactionType.CHARGE, 1L);
+        wal.append(1L, 300L, TransactionType.TRANSFER_OUT, 2L);
+        wal.append(2L, 300L, TransactionType.TRANSFER_IN, 2L);
+        wal.close();
+
+        //when
+        PointWriteAheadLog reopened = new PointWriteAheadLog(walDirectory(), SEGMENT_SIZE, 0L);
+        PointSnapshotter restored = new PointSnapshotter(reopened, snapshotDirectory(), 0L, 2);
+
+        //then
+        assertThat(restored.balances().get(1L).point()).isEqualTo(700L);
+        assertThat(restored.balances().get(2L).point()).isEqualTo(300L);
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("최신 스냅샷이 깨져 있으면 이전 스냅샷과 WAL 로 복구한다")
+    public void restart_ShouldFallBackToOlderSnapshot_WhenLatestIsCorrupted() throws IOException {
+        //given
+        PointWriteAheadLog wal = new PointWriteAheadLog(walDirectory(), SEGMENT_SIZE, 0L);
+        PointSnapshotter snapshotter = new PointSnapshotter(wal, snapshotDirectory(), 0L, 2);
+        wal.append(1L, 1_000L, TransactionType.CHARGE, 1L);
+        snapshotter.snapshot();
+        wal.append(1L, 400L, TransactionType.USE, 2L);
+        snapshotter.snapshot();
+        wal.close();
+
+        List<Path> snapshots;
+        try (Stream<Path> files = Files.list(snapshotDirectory())) {
+            snapshots = files.sorted().toList();
+        }
+        assertThat(snapshots).hasSize(2);
+        corrupt(snapshots.get(1), 20);
+
+        //when
+        PointWriteAheadLog reopened = new PointWriteAheadLog(walDirectory(), SEGMENT_SIZE, 0L);
+        PointSnapshotter restored = new PointSnapshotter(reopened, snapshotDirectory(), 0L, 2);
+
+        //then
+        assertThat(restored.balances().get(1L).point()).isEqualTo(600L);
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("쓰기가 계속되는 중에도 스냅샷을 남길 수 있다")
+    public void snapshot_ShouldRunConcurrentlyWithAppends() throws Exception {
+        //given
+        PointWriteAheadLog wal = new PointWriteAheadLog(walDirectory(), 1 << 20, 0L);
+        PointSnapshotter snapshotter = new PointSnapshotter(wal, snapshotDirectory(), 0L, 2);
+        int threadCount = 4;
+        int appendsPerThread = 2_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        //when
+        for (int t = 0; t < threadCount; t++) {
+            long userId = t + 1;
+            executorService.submit(() -> {
+                try {
+                    for (int i = 0; i < appendsPerThread; i++) {
+                        wal.append(userId, 1L, TransactionType.CHARGE, i);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        Thread snapshots = new Thread(() -> {
+            while (writing.get()) {
+                snapshotter.snapshot();
+            }
+        });
+        snapshots.start();
+        latch.await();
+        writing.set(false);
+        snapshots.join();
+        executorService.shutdown();
+        snapshotter.snapshot();
+        wal.close();
+
+        //then
+        PointWriteAheadLog reopened = new PointWriteAheadLog(walDirectory(), 1 << 20, 0L);
+        PointSnapshotter restored = new PointSnapshotter(reopened, snapshotDirectory(), 0L, 2);
+        assertThat(restored.lastAppliedId()).isEqualTo((long) threadCount * appendsPerThread);
+        for (long userId = 1; userId <= threadCount; userId++) {
+            assertThat(restored.balances().get(userId).point()).isEqualTo(appendsPerThread);
+        }
+        reopened.close();
+    }
+
+    private Path walDirectory() {
+        return directory.resolve("wal");
+    }
+
+    private Path snapshotDirectory() {
+        return directory.resolve("snapshot");
+    }
+
+    private static void corrupt(Path path, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), position);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.ColumnarPointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryWriter;
+import io.hhplus.tdd.point.repository.WalPointHistoryRepository;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import io.hhplus.tdd.point.wal.PointSnapshotter;
+import io.hhplus.tdd.point.wal.PointWriteAheadLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointSummaryAggregatorTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    private PointHistoryWriter pointHistoryWriter;
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        pointHistoryWriter.shutdown();
+    }
+
+    @Test
+    @DisplayName("저장된 내역마다 거래 종류별 합계와 건수, 처음/마지막 시각이 갱신된다")
+    public void summary_ShouldAggregateCommittedHistories() {
+        //given
+        PointSummaryAggregator aggregator = aggregator(new ColumnarPointHistoryRepository(pointMetrics, 16), 90);
+
+        //when
+        pointHistoryWriter.write(1L, 1_000L, TransactionType.CHARGE, 300L).join();
+        pointHistoryWriter.write(1L, 200L, TransactionType.USE, 100L).join();
+        pointHistoryWriter.write(1L, 500L, TransactionType.CHARGE, 200L).join();
+        pointHistoryWriter.write(2L, 50L, TransactionType.CHARGE, 400L).join();
+
+        //then
+        PointSummary summary = aggregator.summary(1L);
+        assertThat(summary.count()).isEqualTo(3L);
+        assertThat(summary.totals().get(TransactionType.CHARGE)).isEqualTo(new PointSummary.Totals(2L, 1_500L));
+        assertThat(summary.totals().get(TransactionType.USE)).isEqualTo(new PointSummary.Totals(1L, 200L));
+        assertThat(summary.firstMillis()).isEqualTo(100L);
+        assertThat(summary.lastMillis()).isEqualTo(300L);
+    }
+
+    @Test
+    @DisplayName("내역이 없는 유저는 비어 있는 요약을 반환한다")
+    public void summary_ShouldBeEmpty_WhenNoHistory() {
+        //given
+        PointSummaryAggregator aggregator = aggregator(new ColumnarPointHistoryRepository(pointMetrics, 16), 90);
+
+        //when
+        PointSummary summary = aggregator.summary(1L);
+
+        //then
+        assertThat(summary.count()).isZero();
+        assertThat(summary.totals().get(TransactionType.CHARGE)).isEqualTo(new PointSummary.Totals(0L, 0L));
+        assertThat(summary.daily()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("날짜별 합계는 설정한 시간대 기준으로 나누고 최근 날짜만 보관한다")
+    public void summary_ShouldBucketByDay_AndKeepRecentDays() {
+        //given
+        PointSummaryAggregator aggregator = aggregator(new ColumnarPointHistoryRepository(pointMetrics, 16), 2);
+        long day1 = millisOf(LocalDate.of(2024, 1, 1));
+        long day2 = millisOf(LocalDate.of(2024, 1, 2));
+        long day3 = millisOf(LocalDate.of(2024, 1, 3));
+
+        //when
+        pointHistoryWriter.write(1L, 100L, TransactionType.CHARGE, day1).join();
+        pointHistoryWriter.write(1L, 100L, TransactionType.CHARGE, day2).join();
+        pointHistoryWriter.write(1L, 300L, TransactionType.CHARGE, day2 + 1_000L).join();
+        pointHistoryWriter.write(1L, 50L, TransactionType.USE, day3 - 1L).join();
+        pointHistoryWriter.write(1L, 70L, TransactionType.USE, day3).join();
+
+        //then
+        PointSummary summary = aggregator.summary(1L);
+        assertThat(summary.count()).isEqualTo(5L);
+        assertThat(summary.daily()).extracting(PointSummary.Daily::date)
+                .containsExactly(LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 3));
+        assertThat(summary.daily().get(0).totals().get(TransactionType.CHARGE)).isEqualTo(new PointSummary.Totals(2L, 400L));
+        assertThat(summary.daily().get(0).totals().get(TransactionType.USE)).isEqualTo(new PointSummary.Totals(1L, 50L));
+        assertThat(summary.daily().get(1).totals().get(TransactionType.USE)).isEqualTo(new PointSummary.Totals(1L, 70L));
+    }
+
+    @Test
+    @DisplayName("WAL 에 남아 있던 내역은 저장소에서 읽고, 이후 내역은 저장 시점에 한 번씩만 반영한다")
+    public void summary_ShouldReadWal_AndApplyNewHistoriesOnce() {
+        //given
+        PointWriteAheadLog wal = new PointWriteAheadLog(directory, 1 << 20, 0L);
+        for (int i = 0; i < 100; i++) {
+            wal.append(1L, 10L, TransactionType.CHARGE, i);
+        }
+        wal.sync();
+
+        //when
+        PointSummaryAggregator aggregator = aggregator(new WalPointHistoryRepository(
+                wal, new PointSnapshotter(wal, directory.resolve("snapshot"), 0L, 2), pointMetrics), 90);
+        pointHistoryWriter.write(1L, 30L, TransactionType.USE, 100L).join();
+
+        //then
+        PointSummary summary = aggregator.summary(1L);
+        assertThat(summary.count()).isEqualTo(101L);
+        assertThat(summary.totals().get(TransactionType.CHARGE)).isEqualTo(new PointSummary.Totals(100L, 1_000L));
+        assertThat(summary.totals().get(TransactionType.USE)).isEqualTo(new PointSummary.Totals(1L, 30L));
+        assertThat(summary.lastMillis()).isEqualTo(100L);
+        wal.close();
+    }
+
+    @Test
+    @DisplayName("요약을 조회한 뒤에 저장된 내역은 한 번씩만 반영된다")
+    public void summary_ShouldApplyLaterHistoriesOnce() {
+        //given
+        PointSummaryAggregator aggregator = aggregator(new ColumnarPointHistoryRepository(pointMetrics, 16), 90);
+        pointHistoryWriter.write(1L, 100L, TransactionType.CHARGE, 100L).join();
+        assertThat(aggregator.summary(1L).count()).isEqualTo(1L);
+
+        //when
+        pointHistoryWriter.write(1L, 200L, TransactionType.CHARGE, 200L).join();
+        pointHistoryWriter.write(1L, 50L, TransactionType.USE, 300L).join();
+
+        //then
+        PointSummary summary = aggregator.summary(1L);
+        assertThat(summary.count()).isEqualTo(3L);
+        assertThat(summary.totals().get(TransactionType.CHARGE)).isEqualTo(new PointSummary.Totals(2L, 300L));
+        assertThat(summary.totals().get(TransactionType.USE)).isEqualTo(new PointSummary.Totals(1L, 50L));
+        assertThat(summary.lastMillis()).isEqualTo(300L);
+    }
+
+    @Test
+    @DisplayName("최대 유저 수를 넘어 지워진 유저의 요약은 저장소의 내역으로 다시 만든다")
+    public void summary_ShouldRebuild_WhenEvicted() {
+        //given
+        PointSummaryAggregator aggregator = aggregator(new ColumnarPointHistoryRepository(pointMetrics, 16), 90, 1);
+        pointHistoryWriter.write(1L, 100L, TransactionType.CHARGE, 100L).join();
+        pointHistoryWriter.write(2L, 300L, TransactionType.CHARGE, 100L).join();
+        aggregator.summary(1L);
+        aggregator.summary(2L);
+
+        //when
+        pointHistoryWriter.write(1L, 40L, TransactionType.USE, 200L).join();
+        pointHistoryWriter.write(2L, 60L, TransactionType.USE, 200L).join();
+
+        //then
+        PointSummary first = aggregator.summary(1L);
+        PointSummary second = aggregator.summary(2L);
+        assertThat(first.totals().get(TransactionType.CHARGE)).isEqualTo(new PointSummary.Totals(1L, 100L));
+        assertThat(first.totals().get(TransactionType.USE)).isEqualTo(new PointSummary.Totals(1L, 40L));
+        assertThat(second.totals().get(TransactionType.CHARGE)).isEqualTo(new PointSummary.Totals(1L, 300L));
+        assertThat(second.totals().get(TransactionType.USE)).isEqualTo(new PointSummary.Totals(1L, 60L));
+    }
+
+    private PointSummaryAggregator aggregator(PointHistoryRepository pointHistoryRepository, int retainedDays) {
+        return aggregator(pointHistoryRepository, retainedDays, 100_000);
+    }
+
+    private PointSummaryAggregator aggregator(PointHistoryRepository pointHistoryRepository, int retainedDays, int maxCachedUsers) {
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, PointHistoryWriter.Durability.ACK_AFTER_COMMIT, 1, 100, 100);
+        return new PointSummaryAggregator(pointHistoryRepository, pointHistoryWriter, ZONE.getId(), retainedDays, maxCachedUsers);
+    }
+
+    private static long millisOf(LocalDate date) {
+        return date.atStartOfDay(ZONE).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,225 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.WalPointHistoryRepository;
+import io.hhplus.tdd.point.repository.WalUserPointRepository;
+import io.hhplus.tdd.point.wal.PointSnapshotter;
+import io.hhplus.tdd.point.wal.PointWriteAheadLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointWriteAheadLogTest {
+
+    // 레코드 하나는 41 바이트
+    private static final int SEGMENT_SIZE = 41 * 10;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("다시 열면 기록된 내역이 순서대로 재생된다")
+    public void replay_ShouldReturnRecordsInOrder_AfterReopen() {
+        //given
+        PointWriteAheadLog wal = new PointWriteAheadLog(directory, SEGMENT_SIZE, 0L);
+        wal.append(1L, 1_000L, TransactionType.CHARGE, 10L);
+        wal.append(2L, 500L, TransactionType.CHARGE, 20L);
+        wal.append(1L, 300L, TransactionType.USE, 30L);
+        wal.sync();
+        wal.close();
+
+        //when
+        PointWriteAheadLog reopened = new PointWriteAheadLog(directory, SEGMENT_SIZE, 0L);
+        List<PointHistory> replayed = new ArrayList<>();
+        reopened.replay(replayed::add);
+
+        //then
+        assertThat(replayed).containsExactly(
+                new PointHistory(1L, 1L, 1_000L, TransactionType.CHARGE, 10L),
+                new PointHistory(2L, 2L, 500L, TransactionType.CHARGE, 20L),
+                new PointHistory(3L, 1L, 300L, TransactionType.USE, 30L)
+        );
+        assertThat(reopened.append(2L, 100L, TransactionType.USE, 40L).id()).isEqualTo(4L);
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 다음 세그먼트로 넘어간다")
+    public void append_ShouldRotateSegments_WhenSegmentIsFull() throws IOException {
+        //given
+        PointWriteAheadLog wal = new PointWriteAheadLog(directory, SEGMENT_SIZE, 0L);
+
+        //when
+        for (int i = 0; i < 25; i++) {
+            wal.append(1L, 10L, TransactionType.CHARGE, i);
+        }
+        wal.close();
+
+        //then
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(3);
+        }
+        PointWriteAheadLog reopened = new PointWriteAheadLog(directory, SEGMENT_SIZE, 0L);
+        List<PointHistory> replayed = new ArrayList<>();
+        reopened.replay(replayed::add);
+        assertThat(replayed).hasSize(25);
+        assertThat(replayed).extracting(PointHistory::id).isSorted();
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("세그먼트 크기를 늘려서 다시 열어도 기존 세그먼트는 만들 때의 크기로 재생된다")
+    public void recover_ShouldKeepExistingSegmentSize_WhenSegmentSizeIsRaised() throws IOException {
+        //given
+        PointWriteAheadLog wal = new PointWriteAheadLog(directory, SEGMENT_SIZE, 0L);
+        for (int i = 0; i < 25; i++) {
+            wal.append(1L, 10L, TransactionType.CHARGE, i);
+        }
+        wal.close();
+
+        //when
+        PointWriteAheadLog reopened = new PointWriteAheadLog(directory, SEGMENT_SIZE * 4, 0L);
+        List<PointHistory> replayed = new ArrayList<>();
+        reopened.replay(replayed::add);
+        for (int i = 25; i < 60; i++) {
+            reopened.append(1L, 10L, TransactionType.CHARGE, i);
+        }
+        reopened.close();
+
+        //then
+        assertThat(replayed).extracting(PointHistory::id).containsExactlyElementsOf(
+                LongStream.rangeClosed(1, 25).boxed().toList());
+        try (Stream<Path> files = Files.list(directory)) {
+            // 기존 세그먼트 3 개는 원래 크기 그대로, 새로 만든 세그먼트만 늘어난 크기로 만든다
+            assertThat(files.sorted().map(path -> path.toFile().length()).toList())
+                    .containsExactly((long) SEGMENT_SIZE, (long) SEGMENT_SIZE, (long) SEGMENT_SIZE, (long) SEGMENT_SIZE * 4);
+        }
+        PointWriteAheadLog again = new PointWriteAheadLog(directory, SEGMENT_SIZE * 4, 0L);
+        List<PointHistory> all = new ArrayList<>();
+        again.replay(all::add);
+        assertThat(all).extracting(PointHistory::id).containsExactlyElementsOf(
+                LongStream.rangeClosed(1, 60).boxed().toList());
+        again.close();
+    }
+
+    @Test
+    @DisplayName("쓰다 만 마지막 레코드는 시작할 때 버린다")
+    public void recover_ShouldDropTornTail() throws IOException {
+        //given
+        PointWriteAheadLog wal = new PointWriteAheadLog(directory, SEGMENT_SIZE, 0L);
+        wal.append(1L, 1_000L, TransactionType.CHARGE, 10L);
+        wal.append(1L, 200L, TransactionType.USE, 20L);
+        wal.close();
+
+        // 두 번째 레코드의 본문 일부를 깨뜨린다
+        try (Stream<Path> files = Files.list(directory);
+             FileChannel channel = FileChannel.open(files.findFirst().orElseThrow(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), 41 + 20);
+        }
+
+        //when
+        PointWriteAheadLog reopened = new PointWriteAheadLog(directory, SEGMENT_SIZE, 0L);
+        List<PointHistory> replayed = new ArrayList<>();
+        reopened.replay(replayed::add);
+
+        //then
+        assertThat(replayed).extracting(PointHistory::id).containsExactly(1L);
+        assertThat(reopened.append(1L, 100L, TransactionType.USE, 30L).id()).isEqualTo(2L);
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("재시작하면 WAL 의 내역으로 잔고와 내역 조회가 복구된다")
+    public void walRepositories_ShouldRebuildState_OnRestart() {
+        //given
+        PointWriteAheadLog wal = new PointWriteAheadLog(directory, SEGMENT_SIZE, 0L);
+        WalPointHistoryRepository historyRepository = new WalPointHistoryRepository(
+                wal, new PointSnapshotter(wal, directory.resolve("snapshot"), 0L, 2), new PointMetrics(new SimpleMeterRegistry()));
+        historyRepository.insert(1L, 1_000L, TransactionType.CHARGE, 10L);
+        historyRepository.insert(1L, 400L, TransactionType.USE, 20L);
+        historyRepository.insert(2L, 700L, TransactionType.CHARGE, 30L);
+        historyRepository.sync();
+        wal.close();
+
+        //when
+        PointWriteAheadLog reopened = new PointWriteAheadLog(directory, SEGMENT_SIZE, 0L);
+        PointSnapshotter snapshotter = new PointSnapshotter(reopened, directory.resolve("snapshot"), 0L, 2);
+        WalUserPointRepository userPointRepository = new WalUserPointRepository(snapshotter);
+        WalPointHistoryRepository reopenedHistoryRepository = new WalPointHistoryRepository(reopened, snapshotter, new PointMetrics(new SimpleMeterRegistry()));
+
+        //then
+        assertThat(userPointRepository.selectById(1L).point()).isEqualTo(600L);
+        assertThat(userPointRepository.selectById(2L).point()).isEqualTo(700L);
+        assertThat(reopenedHistoryRepository.selectAllByUserId(1L)).extracting(PointHistory::id).containsExactly(1L, 2L);
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("id 로 읽으면 세그먼트를 건너뛰어 해당 내역을 바로 읽는다")
+    public void read_ShouldReturnRecordById_AcrossSegments() {
+        //given
+        PointWriteAheadLog wal = new PointWriteAheadLog(directory, SEGMENT_SIZE, 0L);
+        for (int i = 0; i < 25; i++) {
+            wal.append(i, 100L, TransactionType.CHARGE, i);
+        }
+
+        //when
+        PointHistory first = wal.read(1L);
+        PointHistory middle = wal.read(15L);
+        PointHistory last = wal.read(25L);
+
+        //then
+        assertThat(first.userId()).isEqualTo(0L);
+        assertThat(middle.userId()).isEqualTo(14L);
+        assertThat(last.userId()).isEqualTo(24L);
+        wal.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷 이후의 꼬리만 재생해도 스냅샷 이전 내역까지 이어서 조회된다")
+    public void walHistoryRepository_ShouldReadSnapshotHistories_WithoutReplayingThem() throws IOException {
+        //given
+        PointWriteAheadLog wal = new PointWriteAheadLog(directory, SEGMENT_SIZE, 0L);
+        PointSnapshotter snapshotter = new PointSnapshotter(wal, directory.resolve("snapshot"), 0L, 2);
+        for (int i = 0; i < 9; i++) {
+            wal.append(1L, 100L, TransactionType.CHARGE, i);
+        }
+        wal.append(3L, 100L, TransactionType.CHARGE, 9L);
+        snapshotter.snapshot();
+        wal.append(1L, 300L, TransactionType.USE, 10L);
+        wal.append(2L, 50L, TransactionType.CHARGE, 11L);
+        wal.close();
+
+        // 조회하지 않는 스냅샷 이전 레코드를 깨뜨려서, 시작할 때 그 세그먼트를 재생하지 않는지 확인한다
+        try (FileChannel channel = FileChannel.open(directory.resolve("point-0000000000.wal"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), 41 * 9 + 20);
+        }
+
+        //when
+        PointWriteAheadLog reopened = new PointWriteAheadLog(directory, SEGMENT_SIZE, 0L);
+        WalPointHistoryRepository historyRepository = new WalPointHistoryRepository(
+                reopened, new PointSnapshotter(reopened, directory.resolve("snapshot"), 0L, 2), new PointMetrics(new SimpleMeterRegistry()));
+        historyRepository.insert(1L, 200L, TransactionType.CHARGE, 12L);
+
+        //then
+        assertThat(historyRepository.selectByUserIdAfter(1L, 0L, 3)).extracting(PointHistory::id).containsExactly(1L, 2L, 3L);
+        assertThat(historyRepository.selectByUserIdAfter(1L, 8L, 10)).extracting(PointHistory::id).containsExactly(9L, 11L, 13L);
+        assertThat(historyRepository.selectByUserIdBetween(1L, 8L, 10L, 0L, 10)).extracting(PointHistory::id).containsExactly(9L, 11L);
+        assertThat(historyRepository.selectAllByUserId(2L)).extracting(PointHistory::id).containsExactly(12L);
+        reopened.close();
+    }
+}
@@ -0,0 +1,194 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.admission.AdmissionControl;
+import io.hhplus.tdd.point.exception.TooManyRequestsException;
+import io.hhplus.tdd.point.idempotency.IdempotencyCache;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.summary.PointSummaryAggregator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@WebFluxTest(ReactivePointController.class)
+@Import({IdempotencyCache.class, PointRequestHandler.class})
+class ReactivePointControllerTest {
+
+    static final long USER_ID = 1L;
+    static final long CHARGE_AMOUNT = 1_000L;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private PointService pointService;
+
+    @MockBean
+    private AdmissionControl admissionControl;
+
+    @MockBean
+    private PointSummaryAggregator pointSummaryAggregator;
+
+    @BeforeEach
+    public void setup() {
+        // 기본적으로 모든 요청을 통과시킨다
+        given(admissionControl.admit(anyLong(), any())).willAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
+
+    @Test
+    @DisplayName("특정 유저의 포인트 조회")
+    public void testGetPoint() {
+        //given
+        UserPoint userPoint = new UserPoint(USER_ID, 500L, 1_000L);
+        given(pointService.getPoint(USER_ID)).willReturn(userPoint);
+
+        //when
+        //then
+        webTestClient.get().uri("/point/{id}", USER_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", PointService.eTagOf(userPoint))
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(USER_ID)
+                .jsonPath("$.point").isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("잔고가 바뀌지 않았으면 본문 없이 304 를 응답한다")
+    public void testGetPoint_NotModified() {
+        //given
+        UserPoint userPoint = new UserPoint(USER_ID, 500L, 1_000L);
+        given(pointService.getPoint(USER_ID)).willReturn(userPoint);
+
+        //when
+        //then
+        webTestClient.get().uri("/point/{id}", USER_ID)
+                .header("If-None-Match", PointService.eTagOf(userPoint))
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @DisplayName("특정 유저의 포인트 내역 조회")
+    public void testGetPointHistories() {
+        //given
+        List<PointHistory> histories = List.of(
+                new PointHistory(1L, USER_ID, 500L, TransactionType.CHARGE, 0L),
+                new PointHistory(2L, USER_ID, 200L, TransactionType.USE, 0L));
+        given(pointService.getHistoryAsync(USER_ID)).willReturn(CompletableFuture.completedFuture(histories));
+
+        //when
+        //then
+        webTestClient.get().uri("/point/{id}/histories", USER_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(PointHistory.class).isEqualTo(histories);
+    }
+
+    @Test
+    @DisplayName("내역 요약은 event loop 가 아닌 스레드에서 읽는다")
+    public void testGetPointSummary_Offloaded() {
+        //given
+        AtomicReference<String> readBy = new AtomicReference<>();
+        given(pointSummaryAggregator.summary(USER_ID)).willAnswer(invocation -> {
+            readBy.set(Thread.currentThread().getName());
+            return new PointSummary(USER_ID, 0L, 0L, 0L, Map.of(), List.of());
+        });
+
+        //when
+        //then
+        webTestClient.get().uri("/point/{id}/summary", USER_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.userId").isEqualTo(USER_ID);
+        assertThat(readBy.get()).startsWith("point-reactive");
+    }
+
+    @Test
+    @DisplayName("내역 스트리밍은 페이지가 가득 차면 다음 페이지를 이어서 내보낸다")
+    public void testGetPointHistoryStream() {
+        //given
+        List<PointHistory> firstPage = LongStream.rangeClosed(1, PointService.MAX_PAGE_SIZE)
+                .mapToObj(id -> new PointHistory(id, USER_ID, 100L, TransactionType.CHARGE, 0L))
+                .toList();
+        List<PointHistory> lastPage = List.of(new PointHistory(PointService.MAX_PAGE_SIZE + 1L, USER_ID, 200L, TransactionType.USE, 0L));
+        given(pointService.getHistoryAsync(USER_ID, 0L, PointService.MAX_PAGE_SIZE))
+                .willReturn(CompletableFuture.completedFuture(firstPage));
+        given(pointService.getHistoryAsync(USER_ID, (long) PointService.MAX_PAGE_SIZE, PointService.MAX_PAGE_SIZE))
+                .willReturn(CompletableFuture.completedFuture(lastPage));
+
+        //when
+        List<PointHistory> result = webTestClient.get().uri("/point/{id}/histories/stream", USER_ID)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(PointHistory.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        //then
+        assertThat(result).hasSize(PointService.MAX_PAGE_SIZE + 1);
+        assertThat(result.get(result.size() - 1)).isEqualTo(lastPage.get(0));
+        verify(pointService, times(2)).getHistoryAsync(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("특정 유저의 포인트 충전")
+    public void testChargePoint() {
+        //given
+        UserPoint updatedUserPoint = new UserPoint(USER_ID, 1_000L, System.currentTimeMillis());
+        given(pointService.chargePointAsync(USER_ID, CHARGE_AMOUNT)).willReturn(CompletableFuture.completedFuture(updatedUserPoint));
+
+        //when
+        //then
+        webTestClient.patch().uri("/point/{id}/charge", USER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(String.valueOf(CHARGE_AMOUNT))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.point").isEqualTo(1_000);
+        verify(pointService).chargePointAsync(USER_ID, CHARGE_AMOUNT);
+    }
+
+    @Test
+    @DisplayName("요청이 한도를 넘으면 429 를 응답한다")
+    public void testChargePoint_TooManyRequests() {
+        //given
+        given(admissionControl.admit(anyLong(), any()))
+                .willReturn(CompletableFuture.failedFuture(new TooManyRequestsException("요청이 너무 많습니다.")));
+
+        //when
+        //then
+        webTestClient.patch().uri("/point/{id}/charge", USER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(String.valueOf(CHARGE_AMOUNT))
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("429");
+    }
+}
@@ -0,0 +1,106 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.lock.RefCountedUserLockRegistry;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.ExecutorAsyncPointHistoryRepository;
+import io.hhplus.tdd.point.repository.ExecutorAsyncUserPointRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryWriter;
+import io.hhplus.tdd.point.repository.RepositoryExecutor;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.service.ShardedPointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.*;
+
+class ShardedPointServiceTest {
+
+    @Mock
+    private UserPointRepository userPointTable;
+
+    @Mock
+    private PointHistoryRepository pointHistoryTable;
+
+    private ShardedPointService pointService;
+
+    private final Map<Long, UserPoint> balances = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        given(userPointTable.selectById(anyLong())).willAnswer(invocation -> {
+            long id = invocation.getArgument(0, Long.class);
+            return balances.getOrDefault(id, UserPoint.empty(id));
+        });
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong())).willAnswer(invocation -> {
+            long id = invocation.getArgument(0, Long.class);
+            UserPoint userPoint = new UserPoint(id, invocation.getArgument(1, Long.class), System.currentTimeMillis());
+            balances.put(id, userPoint);
+            return userPoint;
+        });
+
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(
+                pointHistoryTable, PointHistoryWriter.Durability.ACK_AFTER_COMMIT, 1, 1000, 100);
+        RepositoryExecutor repositoryExecutor = new RepositoryExecutor(8, 100);
+        pointService = new ShardedPointService(
+                userPointTable, pointHistoryTable,
+                new ExecutorAsyncUserPointRepository(userPointTable, repositoryExecutor),
+                new ExecutorAsyncPointHistoryRepository(pointHistoryTable, repositoryExecutor),
+                pointHistoryWriter, new RefCountedUserLockRegistry(60_000L),
+                new PointMetrics(new SimpleMeterRegistry()), 4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pointService.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 유저의 요청은 들어온 순서대로 처리된다")
+    public void chargePointAsync_ShouldKeepFifoOrder() throws Exception {
+        long userId = 1L;
+        List<CompletableFuture<UserPoint>> futures = new ArrayList<>();
+        for (int amount = 1; amount <= 100; amount++) {
+            futures.add(pointService.chargePointAsync(userId, amount));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get();
+
+        ArgumentCaptor<Long> captor = ArgumentCaptor.forClass(Long.class);
+        verify(userPointTable, times(100)).insertOrUpdate(eq(userId), captor.capture());
+        List<Long> expected = new ArrayList<>();
+        long sum = 0;
+        for (int amount = 1; amount <= 100; amount++) {
+            sum += amount;
+            expected.add(sum);
+        }
+        assertThat(captor.getAllValues()).isEqualTo(expected);
+        assertThat(futures.get(99).get().point()).isEqualTo(5050L);
+    }
+
+    @Test
+    @DisplayName("잔고가 부족하면 future 가 PointException 으로 실패한다")
+    public void usePointAsync_ShouldFail_WhenInsufficientBalance() {
+        CompletableFuture<UserPoint> future = pointService.usePointAsync(2L, 100L);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertThat(exception.getCause()).isInstanceOf(PointException.class);
+        assertThrows(PointException.class, () -> pointService.usePoint(2L, 100L));
+    }
+}
@@ -0,0 +1,177 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.exception.TooManyRequestsException;
+import io.hhplus.tdd.point.lock.RefCountedUserLockRegistry;
+import io.hhplus.tdd.point.lock.StripedUserLockRegistry;
+import io.hhplus.tdd.point.lock.UserLockRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserLockRegistryTest {
+
+    private static final int DISTINCT_USERS = 10_000_000;
+
+    @Test
+    @DisplayName("1000만 명의 유저가 락을 사용한 뒤에도 참조 카운트 락 저장소에는 락이 남지 않는다")
+    public void refCounted_ShouldNotRetainIdleLocks() {
+        RefCountedUserLockRegistry registry = new RefCountedUserLockRegistry(60_000L);
+        long before = usedHeap();
+
+        for (long userId = 0; userId < DISTINCT_USERS; userId++) {
+            registry.withLock(userId, () -> null);
+        }
+
+        assertThat(registry.size()).isZero();
+        // 유저마다 락이 남는다면 수백 MB 가 필요하다
+        assertThat(usedHeap() - before).isLessThan(64L * 1024 * 1024);
+    }
+
+    @Test
+    @DisplayName("1000만 명의 유저가 락을 사용해도 stripe 락 저장소의 메모리 사용량은 늘지 않는다")
+    public void striped_ShouldUseFixedMemory() {
+        StripedUserLockRegistry registry = new StripedUserLockRegistry(1024, 60_000L);
+        long before = usedHeap();
+
+        for (long userId = 0; userId < DISTINCT_USERS; userId++) {
+            registry.withLock(userId, () -> null);
+        }
+
+        assertThat(usedHeap() - before).isLessThan(64L * 1024 * 1024);
+    }
+
+    @Test
+    @DisplayName("stripe 수가 0 이하면 stripe 락 저장소를 만들 수 없다")
+    public void striped_ShouldRejectNonPositiveStripeCount() {
+        assertThatThrownBy(() -> new StripedUserLockRegistry(0, 60_000L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("같은 유저에 대한 작업은 어떤 저장소에서도 순차적으로 실행된다")
+    public void withLock_ShouldSerializeSameUser() throws Exception {
+        assertSerialized(new RefCountedUserLockRegistry(60_000L));
+        assertSerialized(new StripedUserLockRegistry(16, 60_000L));
+    }
+
+    @Test
+    @DisplayName("사용 중인 락은 다른 스레드가 기다리는 동안 제거되지 않는다")
+    public void refCounted_ShouldKeepLock_WhileWaiting() throws Exception {
+        RefCountedUserLockRegistry registry = new RefCountedUserLockRegistry(60_000L);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        Future<?> holder = executorService.submit(() -> registry.withLock(1L, () -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        holding.await();
+        Future<?> waiter = executorService.submit(() -> registry.withLock(1L, () -> null));
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        assertThat(registry.size()).isEqualTo(1);
+        release.countDown();
+        holder.get();
+        waiter.get();
+        assertThat(registry.size()).isZero();
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("정해진 시간 안에 락을 얻지 못하면 기다리지 않고 거절한다")
+    public void withLock_ShouldReject_AfterWaitTimeout() throws Exception {
+        assertTimesOut(new RefCountedUserLockRegistry(50L));
+        assertTimesOut(new StripedUserLockRegistry(16, 50L));
+    }
+
+    @Test
+    @DisplayName("락 대기가 시간 초과로 끝나도 참조 카운트 락 저장소에는 락이 남지 않는다")
+    public void refCounted_ShouldReleaseLock_AfterWaitTimeout() throws Exception {
+        RefCountedUserLockRegistry registry = new RefCountedUserLockRegistry(50L);
+
+        assertTimesOut(registry);
+
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("두 유저의 락을 반대 방향으로 동시에 잡아도 교착 상태에 빠지지 않는다")
+    public void withLocks_ShouldNotDeadlock_WhenOppositeDirections() throws Exception {
+        assertNoDeadlock(new RefCountedUserLockRegistry(60_000L));
+        // stripe 가 적으면 서로 다른 유저 쌍이 같은 stripe 들을 반대 순서로 쓰게 된다
+        assertNoDeadlock(new StripedUserLockRegistry(4, 60_000L));
+    }
+
+    private void assertNoDeadlock(UserLockRegistry registry) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        AtomicInteger counter = new AtomicInteger();
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            long first = i % 7;
+            long second = (i * 3 + 1) % 7;
+            results.add(executorService.submit(() -> registry.withLocks(first, second, counter::incrementAndGet)));
+        }
+        for (Future<?> result : results) {
+            result.get(10, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        assertThat(counter.get()).isEqualTo(10_000);
+    }
+
+    private void assertTimesOut(UserLockRegistry registry) throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        Future<?> holder = executorService.submit(() -> registry.withLock(1L, () -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        holding.await();
+
+        assertThatThrownBy(() -> registry.withLock(1L, () -> null)).isInstanceOf(TooManyRequestsException.class);
+        release.countDown();
+        holder.get();
+        executorService.shutdown();
+    }
+
+    private void assertSerialized(UserLockRegistry registry) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        int[] counter = {0};
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            results.add(executorService.submit(() -> registry.withLock(1L, () -> counter[0]++)));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executorService.shutdown();
+
+        assertThat(counter[0]).isEqualTo(10_000);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
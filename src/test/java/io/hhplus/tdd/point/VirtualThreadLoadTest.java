@@ -0,0 +1,105 @@
+package io.hhplus.tdd.point;
+
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 가상 스레드에서 요청을 처리하면 스레드 풀 크기와 관계없이 요청이 동시에 처리 중일 수 있다.
+ * 모든 요청을 필터에서 붙잡아 두고 CONCURRENT_REQUESTS 개가 모두 도착해야 통과시키므로,
+ * 플랫폼 스레드 풀(threads.max=200)이었다면 나머지 요청이 스레드를 얻지 못해 타임아웃으로 실패한다.
+ * 단위 테스트에서 수많은 연결을 열지 않도록 스레드 풀보다 조금 많은 요청만 보낸다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // 가상 스레드를 쓰지 않으면 이 수만큼만 동시에 처리된다
+        "server.tomcat.threads.max=200"
+})
+class VirtualThreadLoadTest {
+
+    private static final int CONCURRENT_REQUESTS = 500;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private InFlightBarrier inFlightBarrier;
+
+    @TestConfiguration
+    static class LoadTestConfig {
+
+        @Bean
+        InFlightBarrier inFlightBarrier() {
+            return new InFlightBarrier(CONCURRENT_REQUESTS);
+        }
+
+        @Bean
+        FilterRegistrationBean<Filter> inFlightBarrierFilter(InFlightBarrier inFlightBarrier) {
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+                inFlightBarrier.arriveAndAwait();
+                chain.doFilter(request, response);
+            });
+            registration.addUrlPatterns("/point/*");
+            return registration;
+        }
+    }
+
+    static class InFlightBarrier {
+        private final CountDownLatch arrivals;
+        private final AtomicInteger timeouts = new AtomicInteger();
+
+        InFlightBarrier(int parties) {
+            this.arrivals = new CountDownLatch(parties);
+        }
+
+        void arriveAndAwait() {
+            arrivals.countDown();
+            try {
+                if (!arrivals.await(30, TimeUnit.SECONDS)) {
+                    timeouts.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("스레드 풀 크기보다 많은 요청이 동시에 처리 중일 수 있다")
+    void testMoreConcurrentRequestsThanThreads() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .build();
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + i)).build();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            }
+
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                assertThat(response.get(1, TimeUnit.MINUTES).statusCode()).isEqualTo(200);
+            }
+        }
+
+        assertThat(inFlightBarrier.arrivals.getCount()).isZero();
+        assertThat(inFlightBarrier.timeouts.get()).isZero();
+    }
+}
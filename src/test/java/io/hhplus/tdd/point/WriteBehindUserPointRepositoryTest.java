@@ -0,0 +1,150 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.repository.UserPointRepositoryImpl;
+import io.hhplus.tdd.point.repository.WriteBehindUserPointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.*;
+
+class WriteBehindUserPointRepositoryTest {
+
+    @Mock
+    private UserPointRepositoryImpl userPointTable;
+
+    private static final long USER_ID = 1L;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        given(userPointTable.selectById(anyLong()))
+                .willAnswer(invocation -> UserPoint.empty(invocation.getArgument(0, Long.class)));
+    }
+
+    @Test
+    @DisplayName("테이블 반영 전에도 변경된 잔고가 조회된다")
+    public void selectById_ShouldReadOwnWrites() {
+        WriteBehindUserPointRepository repository = new WriteBehindUserPointRepository(userPointTable, 100, 60_000L, 100);
+
+        repository.insertOrUpdate(USER_ID, 1_000L);
+
+        assertThat(repository.selectById(USER_ID).point()).isEqualTo(1_000L);
+        verify(userPointTable, never()).selectById(anyLong());
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("연속된 변경은 종료 시 하나의 테이블 쓰기로 합쳐진다")
+    public void insertOrUpdate_ShouldCoalesceWrites() throws Exception {
+        WriteBehindUserPointRepository repository = new WriteBehindUserPointRepository(userPointTable, 100, 60_000L, 100);
+
+        for (int i = 1; i <= 50; i++) {
+            repository.insertOrUpdate(USER_ID, i * 100L);
+        }
+        repository.shutdown();
+
+        verify(userPointTable, times(1)).insertOrUpdate(USER_ID, 5_000L);
+    }
+
+    @Test
+    @DisplayName("dirty 큐가 가득 차면 호출 스레드가 바로 테이블에 반영한다")
+    public void insertOrUpdate_ShouldFlushInline_WhenQueueIsFull() {
+        WriteBehindUserPointRepository repository = new WriteBehindUserPointRepository(userPointTable, 1, 60_000L, 100);
+
+        repository.insertOrUpdate(1L, 100L);
+        repository.insertOrUpdate(2L, 200L);
+
+        verify(userPointTable, never()).insertOrUpdate(eq(1L), anyLong());
+        verify(userPointTable).insertOrUpdate(2L, 200L);
+    }
+
+    @Test
+    @DisplayName("테이블 반영에 실패한 잔고는 버리지 않고 다음 반영 때 다시 기록한다")
+    public void flush_ShouldRetry_WhenTableWriteFails() throws Exception {
+        WriteBehindUserPointRepository repository = new WriteBehindUserPointRepository(userPointTable, 1, 60_000L, 100);
+        given(userPointTable.insertOrUpdate(eq(2L), anyLong()))
+                .willThrow(new IllegalStateException("저장 실패"))
+                .willAnswer(invocation -> new UserPoint(2L, invocation.getArgument(1, Long.class), 0L));
+
+        repository.insertOrUpdate(1L, 100L);
+        repository.insertOrUpdate(2L, 200L);
+        repository.shutdown();
+
+        verify(userPointTable, times(2)).insertOrUpdate(2L, 200L);
+        verify(userPointTable).insertOrUpdate(1L, 100L);
+    }
+
+    @Test
+    @DisplayName("캐시가 max-entries 를 넘으면 테이블에 반영된 유저를 지우고 다음 조회 때 다시 읽는다")
+    public void flush_ShouldEvictCleanEntries_WhenCacheIsFull() throws Exception {
+        WriteBehindUserPointRepository repository = new WriteBehindUserPointRepository(userPointTable, 100, 60_000L, 1);
+        given(userPointTable.selectById(eq(1L))).willReturn(new UserPoint(1L, 100L, 0L));
+
+        repository.insertOrUpdate(1L, 100L);
+        repository.insertOrUpdate(2L, 200L);
+        repository.shutdown();
+
+        assertThat(repository.selectById(1L).point()).isEqualTo(100L);
+        verify(userPointTable).insertOrUpdate(1L, 100L);
+        verify(userPointTable).insertOrUpdate(2L, 200L);
+        verify(userPointTable).selectById(1L);
+    }
+
+    @Test
+    @DisplayName("테이블에 반영하는 중인 유저는 캐시가 가득 차도 지우지 않는다")
+    public void flush_ShouldNotEvict_WhileWriting() throws Exception {
+        WriteBehindUserPointRepository repository = new WriteBehindUserPointRepository(userPointTable, 1, 60_000L, 1);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(userPointTable.insertOrUpdate(eq(1L), anyLong())).willAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new UserPoint(1L, invocation.getArgument(1, Long.class), 0L);
+        });
+
+        // 큐가 가득 차 있어서 유저 1 은 호출 스레드가 직접 반영한다
+        repository.insertOrUpdate(2L, 200L);
+        CompletableFuture<UserPoint> inlineWrite = CompletableFuture.supplyAsync(() -> repository.insertOrUpdate(1L, 100L));
+        writing.await(5, TimeUnit.SECONDS);
+        repository.shutdown();
+        release.countDown();
+        inlineWrite.get(5, TimeUnit.SECONDS);
+
+        assertThat(repository.selectById(1L).point()).isEqualTo(100L);
+        verify(userPointTable, never()).selectById(1L);
+    }
+
+    @Test
+    @DisplayName("반영하는 사이에 들어온 새 잔고는 반영 대기로 남아 다음 반영 때 기록된다")
+    public void flush_ShouldWriteNewerValue_WhenUpdatedWhileWriting() throws Exception {
+        WriteBehindUserPointRepository repository = new WriteBehindUserPointRepository(userPointTable, 1, 60_000L, 100);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(userPointTable.insertOrUpdate(eq(1L), eq(100L))).willAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new UserPoint(1L, 100L, 0L);
+        });
+
+        repository.insertOrUpdate(2L, 200L);
+        CompletableFuture<UserPoint> inlineWrite = CompletableFuture.supplyAsync(() -> repository.insertOrUpdate(1L, 100L));
+        writing.await(5, TimeUnit.SECONDS);
+        repository.insertOrUpdate(1L, 300L);
+        release.countDown();
+        inlineWrite.get(5, TimeUnit.SECONDS);
+        repository.shutdown();
+
+        InOrder inOrder = inOrder(userPointTable);
+        inOrder.verify(userPointTable).insertOrUpdate(1L, 100L);
+        inOrder.verify(userPointTable).insertOrUpdate(1L, 300L);
+    }
+}